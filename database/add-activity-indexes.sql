@@ -0,0 +1,5 @@
+-- 최근 활동(대시보드) 조회용 복합 인덱스
+-- 사용자별 최근 N건 조회(FETCH FIRST n ROWS)가 정렬 없이 인덱스 범위 스캔으로 끝나도록 합니다.
+
+CREATE INDEX idx_doc_intra_author_created ON documents_intranet(author_id, created_at DESC);
+CREATE INDEX idx_approval_intra_approver_decided ON approval_lines_intranet(approver_id, decided_at DESC);
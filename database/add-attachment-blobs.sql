@@ -0,0 +1,36 @@
+-- 첨부파일 내용 기반 저장소 (중복 제거)
+-- 같은 내용의 파일은 SHA-256 해시 경로에 한 번만 저장하고, attachments_intranet 행 수만큼 참조 카운트를 유지합니다.
+
+CREATE TABLE attachment_blobs_intranet (
+    content_hash VARCHAR2(64) PRIMARY KEY,
+    file_path VARCHAR2(500) NOT NULL,
+    file_size NUMBER NOT NULL,
+    ref_count NUMBER DEFAULT 1 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE attachment_blobs_intranet IS '첨부파일 저장 파일 (내용 해시 기준)';
+COMMENT ON COLUMN attachment_blobs_intranet.content_hash IS '파일 내용 SHA-256 (hex)';
+COMMENT ON COLUMN attachment_blobs_intranet.file_path IS '저장 경로 (blobs/ab/cd/{hash})';
+COMMENT ON COLUMN attachment_blobs_intranet.ref_count IS '참조하는 첨부파일 수';
+
+DECLARE
+  v_count NUMBER;
+BEGIN
+  -- Check if column already exists
+  SELECT COUNT(*) INTO v_count
+  FROM user_tab_columns
+  WHERE table_name = 'ATTACHMENTS_INTRANET' AND column_name = 'CONTENT_HASH';
+
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'ALTER TABLE attachments_intranet ADD content_hash VARCHAR2(64)';
+    DBMS_OUTPUT.PUT_LINE('Column content_hash added successfully');
+  ELSE
+    DBMS_OUTPUT.PUT_LINE('Column content_hash already exists');
+  END IF;
+END;
+/
+
+CREATE INDEX idx_attach_intra_hash ON attachments_intranet(content_hash);
+
+COMMENT ON COLUMN attachments_intranet.content_hash IS '파일 내용 SHA-256 (이전 업로드는 NULL)';
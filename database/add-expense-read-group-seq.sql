@@ -0,0 +1,13 @@
+-- 경비 신청 건(읽음 상태 그룹) ID 시퀀스
+-- EXPENSE_ITEM_READ_STATUS.ID 는 신청 건마다 하나를 발급해 확인자 행 전체가 공유합니다.
+-- 기존 NVL(MAX(ID), 0) + 1 방식은 동시에 신청하면 같은 ID를 받아 서로 다른 신청이 한 건으로 합쳐지므로 시퀀스로 발급합니다.
+-- 기존 ID와 겹치지 않도록 현재 최대 ID 다음 값부터 시작합니다.
+DECLARE
+    v_start NUMBER;
+BEGIN
+    SELECT NVL(MAX(id), 0) + 1 INTO v_start FROM EXPENSE_ITEM_READ_STATUS;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE SEQ_EXPENSE_READ_GROUP START WITH ' || v_start
+        || ' INCREMENT BY 1 CACHE 20 NOCYCLE';
+END;
+/
+
@@ -0,0 +1,6 @@
+-- 미확인 경비 조회용 인덱스
+-- GET /api/intranet/expense-reports/items/unread 가 확인자별 미확인 신청 건과 그 항목을 한 번의 조인으로 조회합니다.
+CREATE INDEX IDX_EXP_ITEMS_INTRANET_READ_ID ON EXPENSE_ITEMS_INTRANET (EXPENSE_READ_ID);
+
+-- 신청 건 ID + 확인자로 읽음 처리 (markAsReadById)
+CREATE INDEX IDX_EXP_READ_STATUS_ID_READER ON EXPENSE_ITEM_READ_STATUS (ID, READER_MEMBER_ID);
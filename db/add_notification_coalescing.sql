@@ -0,0 +1,26 @@
+-- 알림 묶음(coalescing) 컬럼 추가
+-- group_key: 같은 사용자/유형/기본 제목의 알림을 하나로 묶기 위한 키
+-- aggregate_count: 묶인 알림 건수
+
+DECLARE
+  v_count NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO v_count
+  FROM user_tab_columns
+  WHERE table_name = 'NOTIFICATIONS_INTRANET' AND column_name = 'GROUP_KEY';
+
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'ALTER TABLE notifications_intranet ADD group_key VARCHAR2(300)';
+    EXECUTE IMMEDIATE 'ALTER TABLE notifications_intranet ADD aggregate_count NUMBER DEFAULT 1 NOT NULL';
+    DBMS_OUTPUT.PUT_LINE('Columns group_key, aggregate_count added successfully');
+  ELSE
+    DBMS_OUTPUT.PUT_LINE('Columns group_key, aggregate_count already exist');
+  END IF;
+END;
+/
+
+-- 묶음 대상 조회용 인덱스
+CREATE INDEX idx_notif_group ON notifications_intranet(member_id, group_key, is_read);
+
+COMMENT ON COLUMN notifications_intranet.group_key IS '묶음 알림 키 (유형:기본 제목)';
+COMMENT ON COLUMN notifications_intranet.aggregate_count IS '묶인 알림 건수';
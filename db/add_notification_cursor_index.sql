@@ -0,0 +1,3 @@
+-- 알림 커서 페이지네이션용 복합 인덱스
+-- GET /api/intranet/notifications?before={created_at}_{id} 조회가 (member_id, created_at, id) 범위 스캔으로 끝나도록 합니다.
+CREATE INDEX idx_notif_member_created ON notifications_intranet(member_id, created_at DESC, id DESC);
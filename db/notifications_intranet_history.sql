@@ -0,0 +1,24 @@
+-- 알림 이력 테이블 생성 (보관 기간이 지난 알림 보관용, intranet.notification.retention.archive=true 일 때 사용)
+CREATE TABLE notifications_intranet_history (
+    id NUMBER PRIMARY KEY,
+    member_id NUMBER NOT NULL,
+    notification_type VARCHAR2(50) NOT NULL,
+    title VARCHAR2(200) NOT NULL,
+    content VARCHAR2(1000),
+    link_url VARCHAR2(500),
+    is_read NUMBER(1) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    read_at TIMESTAMP,
+    aggregate_count NUMBER DEFAULT 1 NOT NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- 인덱스 생성
+CREATE INDEX idx_notif_hist_member ON notifications_intranet_history(member_id, created_at DESC);
+
+-- 정리 대상 조회용 인덱스 (읽은 알림은 read_at 기준)
+CREATE INDEX idx_notif_read_at ON notifications_intranet(is_read, read_at);
+
+-- 코멘트 추가
+COMMENT ON TABLE notifications_intranet_history IS '사용자 알림 이력 테이블 (정리 작업으로 이동된 알림)';
+COMMENT ON COLUMN notifications_intranet_history.archived_at IS '이력 이동 일시';
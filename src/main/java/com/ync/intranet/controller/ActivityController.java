@@ -2,7 +2,6 @@ package com.ync.intranet.controller;
 
 import com.ync.intranet.domain.ApprovalLineIntranet;
 import com.ync.intranet.domain.DocumentIntranet;
-import com.ync.intranet.domain.MemberIntranet;
 import com.ync.intranet.domain.ScheduleIntranet;
 import com.ync.intranet.mapper.ApprovalLineIntranetMapper;
 import com.ync.intranet.mapper.DocumentIntranetMapper;
@@ -12,8 +11,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 최근 활동 API 컨트롤러
@@ -22,6 +21,9 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/intranet/activity")
 public class ActivityController {
 
+    // 항목별 최근 활동 조회 건수
+    private static final int RECENT_LIMIT = 5;
+
     private final DocumentIntranetMapper documentMapper;
     private final ApprovalLineIntranetMapper approvalLineMapper;
     private final ScheduleIntranetMapper scheduleMapper;
@@ -46,23 +48,13 @@ public class ActivityController {
         }
 
         // 1. 최근 작성한 문서 5건
-        List<DocumentIntranet> recentDocuments = documentMapper.findByAuthorId(memberId)
-                .stream()
-                .limit(5)
-                .collect(Collectors.toList());
+        List<DocumentIntranet> recentDocuments = documentMapper.findRecentByAuthorId(memberId, RECENT_LIMIT);
 
         // 2. 최근 처리한 결재 5건 (승인 또는 반려)
-        List<ApprovalLineIntranet> recentApprovals = approvalLineMapper.findByApproverId(memberId)
-                .stream()
-                .filter(a -> !a.getDecision().equals("PENDING"))  // 처리 완료된 것만
-                .limit(5)
-                .collect(Collectors.toList());
+        List<ApprovalLineIntranet> recentApprovals = approvalLineMapper.findRecentDecidedByApproverId(memberId, RECENT_LIMIT);
 
         // 3. 최근 일정/휴가 5건
-        List<ScheduleIntranet> recentSchedules = scheduleMapper.findByMemberId(memberId)
-                .stream()
-                .limit(5)
-                .collect(Collectors.toList());
+        List<ScheduleIntranet> recentSchedules = scheduleMapper.findRecentByMemberId(memberId, RECENT_LIMIT);
 
         return Map.of(
                 "success", true,
@@ -1,6 +1,8 @@
 package com.ync.intranet.controller;
 
 import com.ync.intranet.domain.ApprovalLineIntranet;
+import com.ync.intranet.dto.ApprovalLatencyStatsDto;
+import com.ync.intranet.service.ApprovalMetricsService;
 import com.ync.intranet.service.ApprovalService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.http.ResponseEntity;
@@ -18,9 +20,12 @@ import java.util.Map;
 public class ApprovalController {
 
     private final ApprovalService approvalService;
+    private final ApprovalMetricsService approvalMetricsService;
 
-    public ApprovalController(ApprovalService approvalService) {
+    public ApprovalController(ApprovalService approvalService,
+                              ApprovalMetricsService approvalMetricsService) {
         this.approvalService = approvalService;
+        this.approvalMetricsService = approvalMetricsService;
     }
 
     /**
@@ -202,4 +207,55 @@ public class ApprovalController {
                     .body(Map.of("success", false, "message", "조회 중 오류가 발생했습니다."));
         }
     }
+
+    /**
+     * 결재 처리 소요시간 지표 (결재자별/문서유형별 히스토그램, ADMIN 전용)
+     * GET /api/intranet/approvals/metrics
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getApprovalMetrics(HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401)
+                    .body(Map.of("success", false, "message", "로그인이 필요합니다."));
+        }
+
+        // 결재자 이름별 소요시간이 포함되므로 관리자만 조회
+        String userRole = (String) session.getAttribute("userRole");
+        if (!"ADMIN".equals(userRole)) {
+            return ResponseEntity.status(403)
+                    .body(Map.of("success", false, "message", "권한이 없습니다."));
+        }
+
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "windowDays", ApprovalMetricsService.WINDOW_DAYS,
+                "buckets", approvalMetricsService.getBucketLabels(),
+                "approvers", approvalMetricsService.getApproverStats(),
+                "documentTypes", approvalMetricsService.getDocumentTypeStats()
+        ));
+    }
+
+    /**
+     * 병목 결재자 리포트 (ADMIN 전용)
+     * GET /api/intranet/approvals/metrics/report
+     */
+    @GetMapping("/metrics/report")
+    public ResponseEntity<Map<String, Object>> getApprovalMetricsReport(
+            @RequestParam(defaultValue = "10") int limit,
+            HttpSession session) {
+        String userRole = (String) session.getAttribute("userRole");
+        if (!"ADMIN".equals(userRole)) {
+            return ResponseEntity.status(403)
+                    .body(Map.of("success", false, "message", "권한이 없습니다."));
+        }
+
+        List<ApprovalLatencyStatsDto> bottlenecks = approvalMetricsService.getBottleneckApprovers(Math.max(1, limit));
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "windowDays", ApprovalMetricsService.WINDOW_DAYS,
+                "bottleneckApprovers", bottlenecks,
+                "documentTypes", approvalMetricsService.getDocumentTypeStats()
+        ));
+    }
 }
@@ -1,17 +1,31 @@
 package com.ync.intranet.controller;
 
 import com.ync.intranet.domain.AttachmentIntranet;
+import com.ync.intranet.service.AttachmentArchiveService;
+import com.ync.intranet.service.AttachmentPreviewService;
 import com.ync.intranet.service.AttachmentService;
-import org.springframework.core.io.Resource;
+import com.ync.intranet.service.ChunkedUploadService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,10 +38,25 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AttachmentController {
 
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     private final AttachmentService attachmentService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final AttachmentPreviewService previewService;
+    private final AttachmentArchiveService archiveService;
 
-    public AttachmentController(AttachmentService attachmentService) {
+    public AttachmentController(AttachmentService attachmentService,
+                                ChunkedUploadService chunkedUploadService,
+                                AttachmentPreviewService previewService,
+                                AttachmentArchiveService archiveService) {
         this.attachmentService = attachmentService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.previewService = previewService;
+        this.archiveService = archiveService;
     }
 
     /**
@@ -72,44 +101,401 @@ public class AttachmentController {
         }
     }
 
+    /**
+     * 분할 업로드 시작
+     * POST /api/intranet/attachments/uploads
+     *
+     * @param request documentId, fileName, fileSize, contentType(선택)
+     * @return uploadId, 권장 조각 크기
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<?> initChunkedUpload(@RequestBody Map<String, Object> request, HttpSession session) {
+
+        try {
+            Long userId = (Long) session.getAttribute("userId");
+            if (userId == null) {
+                return ResponseEntity.status(401).body("로그인이 필요합니다");
+            }
+
+            if (request.get("documentId") == null || request.get("fileName") == null || request.get("fileSize") == null) {
+                return ResponseEntity.status(400).body("documentId, fileName, fileSize는 필수입니다");
+            }
+
+            Long documentId = Long.valueOf(request.get("documentId").toString());
+            String fileName = request.get("fileName").toString();
+            long fileSize = Long.parseLong(request.get("fileSize").toString());
+            String contentType = request.get("contentType") != null ? request.get("contentType").toString() : null;
+
+            ChunkedUploadService.ChunkedUpload upload =
+                    chunkedUploadService.init(documentId, fileName, fileSize, contentType, userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("uploadId", upload.getUploadId());
+            response.put("chunkSize", ChunkedUploadService.RECOMMENDED_CHUNK_SIZE);
+            response.put("receivedBytes", upload.getReceivedBytes());
+            return ResponseEntity.ok(response);
+
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("파일 업로드 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
+
+    /**
+     * 분할 업로드 조각 전송 (요청 본문 = 조각 바이트)
+     * PUT /api/intranet/attachments/uploads/{uploadId}?offset=
+     *
+     * @param offset 조각 시작 위치 (상태 조회의 receivedBytes 이하)
+     * @return 현재까지 받은 크기
+     */
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @RequestParam("offset") long offset,
+                                         HttpServletRequest request,
+                                         HttpSession session) {
+
+        try {
+            Long userId = (Long) session.getAttribute("userId");
+            if (userId == null) {
+                return ResponseEntity.status(401).body("로그인이 필요합니다");
+            }
+
+            long receivedBytes = chunkedUploadService.writeChunk(uploadId, userId, offset, request.getInputStream());
+            return ResponseEntity.ok(Map.of("receivedBytes", receivedBytes));
+
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("파일 업로드 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
+
+    /**
+     * 분할 업로드 상태 조회 (이어받기 위치 확인)
+     * GET /api/intranet/attachments/uploads/{uploadId}
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> getChunkedUploadStatus(@PathVariable String uploadId, HttpSession session) {
+
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body("로그인이 필요합니다");
+        }
+
+        try {
+            ChunkedUploadService.ChunkedUpload upload = chunkedUploadService.getUpload(uploadId, userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("uploadId", upload.getUploadId());
+            response.put("fileName", upload.getFileName());
+            response.put("fileSize", upload.getFileSize());
+            response.put("receivedBytes", upload.getReceivedBytes());
+            return ResponseEntity.ok(response);
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+    }
+
+    /**
+     * 분할 업로드 완료 - 첨부파일 등록
+     * POST /api/intranet/attachments/uploads/{uploadId}/complete
+     *
+     * @param request checksum(선택, SHA-256 hex)
+     * @return 업로드된 첨부파일 정보
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<?> completeChunkedUpload(@PathVariable String uploadId,
+                                                   @RequestBody(required = false) Map<String, Object> request,
+                                                   HttpSession session) {
+
+        try {
+            Long userId = (Long) session.getAttribute("userId");
+            if (userId == null) {
+                return ResponseEntity.status(401).body("로그인이 필요합니다");
+            }
+
+            String checksum = (request != null && request.get("checksum") != null) ? request.get("checksum").toString() : null;
+            AttachmentIntranet attachment = chunkedUploadService.complete(uploadId, userId, checksum);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("id", attachment.getId());
+            response.put("fileName", attachment.getFileName());
+            response.put("fileSize", attachment.getFileSize());
+            response.put("fileSizeFormatted", AttachmentService.formatFileSize(attachment.getFileSize()));
+            response.put("uploadedAt", attachment.getUploadedAt());
+            return ResponseEntity.ok(response);
+
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("파일 업로드 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
+
+    /**
+     * 분할 업로드 취소
+     * DELETE /api/intranet/attachments/uploads/{uploadId}
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> abortChunkedUpload(@PathVariable String uploadId, HttpSession session) {
+
+        try {
+            Long userId = (Long) session.getAttribute("userId");
+            if (userId == null) {
+                return ResponseEntity.status(401).body("로그인이 필요합니다");
+            }
+
+            chunkedUploadService.abort(uploadId, userId);
+            return ResponseEntity.ok("업로드가 취소되었습니다");
+
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("업로드 취소 중 오류가 발생했습니다");
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+    }
+
     /**
      * 파일 다운로드
      * GET /api/intranet/attachments/download/{id}
      *
+     * 첨부파일은 업로드 후 변경되지 않으므로 ETag + 장기 캐시를 사용하고,
+     * Range/If-Range 요청은 206 부분 응답으로 이어받기를 지원합니다.
+     * 가능한 경우 Tomcat sendfile(zero-copy)로 전송합니다.
+     *
      * @param id 첨부파일 ID
-     * @return 파일 리소스
      */
     @GetMapping("/download/{id}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long id) {
+    public void downloadFile(@PathVariable Long id,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
 
-        try {
-            // 첨부파일 정보 조회
-            AttachmentIntranet attachment = attachmentService.getAttachmentById(id);
-            if (attachment == null) {
-                return ResponseEntity.notFound().build();
+        // 첨부파일 정보 조회
+        AttachmentIntranet attachment = attachmentService.getAttachmentById(id);
+        if (attachment == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path file = Paths.get(attachment.getFilePath());
+        if (!Files.isReadable(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long fileLength = Files.size(file);
+        String etag = buildETag(attachment, fileLength);
+
+        // 파일명 UTF-8 인코딩 (한글 파일명 지원)
+        String encodedFilename = new String(
+                attachment.getFileName().getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.ISO_8859_1
+        );
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // 캐시 검증 (변경되지 않았으면 304)
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(attachment.getFileType() != null ? attachment.getFileType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFilename + "\"");
+
+        // Range 처리 (단일 구간만 지원, If-Range가 ETag와 다르면 전체 전송)
+        long start = 0;
+        long end = fileLength - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
             }
 
-            // 파일 리소스 가져오기
-            Resource resource = attachmentService.downloadFile(id);
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                long rangeStart = range.getRangeStart(fileLength);
+                if (rangeStart >= fileLength) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = rangeStart;
+                end = range.getRangeEnd(fileLength);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
+            }
+        }
+
+        long contentLength = end - start + 1;
+        response.setContentLengthLong(contentLength);
 
-            // 파일명 UTF-8 인코딩 (한글 파일명 지원)
-            String encodedFilename = new String(
-                    attachment.getFileName().getBytes(StandardCharsets.UTF_8),
-                    StandardCharsets.ISO_8859_1
-            );
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || contentLength == 0) {
+            return;
+        }
 
-            // 응답 헤더 설정
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(attachment.getFileType()))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFilename + "\"")
-                    .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(attachment.getFileSize()))
-                    .body(resource);
+        // 컨테이너가 sendfile을 지원하면 커널에서 직접 전송 (zero-copy)
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
 
-        } catch (IOException e) {
-            return ResponseEntity.status(500).build();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = contentLength;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * 첨부파일 미리보기 이미지 (이미지/PDF 첫 페이지, JPEG)
+     * GET /api/intranet/attachments/preview/{id}?size=thumb|preview
+     *
+     * 아직 생성되지 않았으면 생성을 요청하고 404를 반환합니다 (클라이언트는 아이콘으로 대체).
+     *
+     * @param id 첨부파일 ID
+     * @param size thumb(목록용, 기본) 또는 preview(모달용)
+     */
+    @GetMapping("/preview/{id}")
+    public void previewFile(@PathVariable Long id,
+                            @RequestParam(value = "size", defaultValue = AttachmentPreviewService.SIZE_THUMB) String size,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+
+        AttachmentIntranet attachment = attachmentService.getAttachmentById(id);
+        if (attachment == null || !AttachmentPreviewService.isSupported(attachment.getFileName())) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String previewSize = AttachmentPreviewService.SIZE_PREVIEW.equals(size)
+                ? AttachmentPreviewService.SIZE_PREVIEW : AttachmentPreviewService.SIZE_THUMB;
+        Path preview = previewService.getPreviewFile(attachment, previewSize);
+        if (preview == null) {
+            previewService.requestGeneration(attachment);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // 미리보기도 원본과 함께 변경되지 않음
+        String etag = "\"" + (attachment.getContentHash() != null ? attachment.getContentHash() : attachment.getId())
+                + "-" + previewSize + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(Files.size(preview));
+        Files.copy(preview, response.getOutputStream());
+    }
+
+    /**
+     * 문서의 첨부파일 ZIP 일괄 다운로드
+     * GET /api/intranet/attachments/document/{documentId}/zip
+     *
+     * @param documentId 문서 ID
+     */
+    @GetMapping("/document/{documentId}/zip")
+    public void downloadDocumentZip(@PathVariable Long documentId,
+                                    HttpSession session,
+                                    HttpServletResponse response) throws IOException {
+
+        if (session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "로그인이 필요합니다");
+            return;
+        }
+
+        List<AttachmentIntranet> attachments = attachmentService.getAttachmentsByDocumentId(documentId);
+        if (attachments.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "첨부파일이 없습니다");
+            return;
+        }
+
+        writeZipResponse(response, "attachments_" + documentId + ".zip", attachments, false);
+    }
+
+    /**
+     * 기간 내 상신된 문서의 첨부파일 ZIP 일괄 다운로드 (ADMIN 전용)
+     * GET /api/intranet/attachments/zip?from=2026-09-01&to=2026-09-30&documentType=EXPENSE
+     *
+     * ZIP 안에서는 문서별 폴더({문서ID}_{제목}/)로 묶습니다.
+     *
+     * @param from 시작일 (포함)
+     * @param to 종료일 (포함)
+     * @param documentType 문서 유형 (선택)
+     */
+    @GetMapping("/zip")
+    public void downloadPeriodZip(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                  @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                  @RequestParam(value = "documentType", required = false) String documentType,
+                                  HttpSession session,
+                                  HttpServletResponse response) throws IOException {
+
+        if (session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "로그인이 필요합니다");
+            return;
+        }
+        if (!"ADMIN".equals(session.getAttribute("userRole"))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "권한이 없습니다.");
+            return;
+        }
+
+        List<AttachmentIntranet> attachments;
+        try {
+            attachments = archiveService.getAttachmentsForPeriod(from, to, documentType);
         } catch (RuntimeException e) {
-            return ResponseEntity.status(404).build();
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (attachments.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "첨부파일이 없습니다");
+            return;
+        }
+
+        writeZipResponse(response, "attachments_" + from + "_" + to + ".zip", attachments, true);
+    }
+
+    private void writeZipResponse(HttpServletResponse response, String zipName,
+                                  List<AttachmentIntranet> attachments, boolean groupByDocument) throws IOException {
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + zipName + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        // 전체 크기를 미리 알 수 없으므로 chunked 전송
+        archiveService.writeZip(attachments, groupByDocument, response.getOutputStream());
+    }
+
+    /**
+     * ETag 생성 - 내용 해시가 있으면 해시, 없으면 ID + 크기 (첨부파일은 변경되지 않음)
+     */
+    private String buildETag(AttachmentIntranet attachment, long fileLength) {
+        if (attachment.getContentHash() != null) {
+            return "\"" + attachment.getContentHash() + "\"";
         }
+        return "\"" + attachment.getId() + "-" + fileLength + "\"";
     }
 
     /**
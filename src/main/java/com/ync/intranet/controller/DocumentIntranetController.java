@@ -7,9 +7,14 @@ import com.ync.intranet.service.ApprovalService;
 import com.ync.intranet.service.AttachmentService;
 import com.ync.intranet.service.DocumentIntranetService;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +26,9 @@ import java.util.Map;
 @RequestMapping("/api/intranet/documents")
 public class DocumentIntranetController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DocumentIntranetService documentService;
     private final ApprovalService approvalService;
     private final AttachmentService attachmentService;
@@ -185,13 +193,44 @@ public class DocumentIntranetController {
         }
     }
 
+    /**
+     * 문서 본문 조회 (목록 API는 본문을 포함하지 않으므로 상세 화면에서 사용)
+     * GET /api/intranet/documents/{id}/content
+     */
+    @GetMapping("/{id}/content")
+    public ResponseEntity<StreamingResponseBody> getDocumentContent(
+            @PathVariable Long id,
+            HttpSession session
+    ) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        if (documentService.getContentLength(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            documentService.streamContent(id, writer);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "plain", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     /**
      * 내가 작성한 문서 목록 조회
      * GET /api/intranet/documents/my
+     * GET /api/intranet/documents/my?page=1&size=20&status=PENDING (페이지 조회)
      */
     @GetMapping("/my")
     public ResponseEntity<Map<String, Object>> getMyDocuments(
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
             HttpSession session
     ) {
         try {
@@ -201,6 +240,23 @@ public class DocumentIntranetController {
                         .body(Map.of("success", false, "message", "로그인이 필요합니다."));
             }
 
+            // 페이지 조회
+            if (page != null) {
+                int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+                int currentPage = Math.max(page, 1);
+                int totalCount = documentService.countByAuthorId(userId, status);
+                List<DocumentIntranet> documents = documentService.findByAuthorIdPaged(userId, status, currentPage, pageSize);
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "documents", documents,
+                        "page", currentPage,
+                        "size", pageSize,
+                        "totalCount", totalCount,
+                        "totalPages", (totalCount + pageSize - 1) / pageSize
+                ));
+            }
+
             List<DocumentIntranet> documents;
             if (status != null && !status.isEmpty()) {
                 documents = documentService.findByAuthorIdAndStatus(userId, status);
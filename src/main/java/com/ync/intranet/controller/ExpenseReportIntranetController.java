@@ -2,24 +2,38 @@ package com.ync.intranet.controller;
 
 import com.ync.intranet.domain.ExpenseItemIntranet;
 import com.ync.intranet.domain.ExpenseReportIntranet;
+import com.ync.intranet.domain.MemberIntranet;
 import com.ync.intranet.dto.ExcelDownloadRequest;
+import com.ync.intranet.dto.ExpenseExcelExportFilter;
+import com.ync.intranet.dto.ExpenseImportResultDto;
 import com.ync.intranet.dto.ExpenseStatsDto;
 import com.ync.intranet.dto.UnreadExpenseDto;
 import com.ync.intranet.dto.WelfareSummaryDto;
+import com.ync.intranet.service.ExpenseExcelBatchService;
 import com.ync.intranet.service.ExpenseExcelService;
+import com.ync.intranet.service.ExpenseExportJobService;
+import com.ync.intranet.service.ExpenseItemImportService;
 import com.ync.intranet.service.ExpenseItemIntranetService;
 import com.ync.intranet.service.ExpenseReportIntranetService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 경비보고서 Controller (인트라넷)
@@ -28,16 +42,28 @@ import java.util.Map;
 @RequestMapping("/api/intranet/expense-reports")
 public class ExpenseReportIntranetController {
 
+    private static final int UNREAD_PAGE_SIZE = 20;
+    private static final int UNREAD_MAX_PAGE_SIZE = 100;
+
     private final ExpenseReportIntranetService expenseReportService;
     private final ExpenseItemIntranetService expenseItemService;
     private final ExpenseExcelService expenseExcelService;
+    private final ExpenseExcelBatchService expenseExcelBatchService;
+    private final ExpenseItemImportService expenseItemImportService;
+    private final ExpenseExportJobService expenseExportJobService;
 
     public ExpenseReportIntranetController(ExpenseReportIntranetService expenseReportService,
                                             ExpenseItemIntranetService expenseItemService,
-                                            ExpenseExcelService expenseExcelService) {
+                                            ExpenseExcelService expenseExcelService,
+                                            ExpenseExcelBatchService expenseExcelBatchService,
+                                            ExpenseItemImportService expenseItemImportService,
+                                            ExpenseExportJobService expenseExportJobService) {
         this.expenseReportService = expenseReportService;
         this.expenseItemService = expenseItemService;
         this.expenseExcelService = expenseExcelService;
+        this.expenseExcelBatchService = expenseExcelBatchService;
+        this.expenseItemImportService = expenseItemImportService;
+        this.expenseExportJobService = expenseExportJobService;
     }
 
     /**
@@ -276,6 +302,50 @@ public class ExpenseReportIntranetController {
         }
     }
 
+    /**
+     * 경비 항목 가져오기 (XLSX/CSV 카드 명세서 등)
+     * - 오류 행이 있으면 아무것도 등록하지 않고 오류 목록 반환
+     * @param memberId 사용자 (없으면 로그인 사용자)
+     * @param expenseReportId 경비보고서 (선택)
+     * @param account 계정 컬럼이 없을 때 사용할 계정 (선택)
+     */
+    @PostMapping("/items/import")
+    public ResponseEntity<Map<String, Object>> importExpenseItems(@RequestParam("file") MultipartFile file,
+                                                                  @RequestParam(value = "memberId", required = false) Long memberId,
+                                                                  @RequestParam(value = "expenseReportId", required = false) Long expenseReportId,
+                                                                  @RequestParam(value = "account", required = false) String account,
+                                                                  HttpSession session) {
+        try {
+            Long userId = (Long) session.getAttribute("userId");
+            if (userId == null) {
+                return ResponseEntity.status(401)
+                        .body(Map.of("success", false, "message", "로그인이 필요합니다."));
+            }
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("success", false, "message", "파일이 비어 있습니다."));
+            }
+
+            ExpenseImportResultDto result;
+            try (InputStream in = file.getInputStream()) {
+                result = expenseItemImportService.importItems(in, file.getOriginalFilename(),
+                        memberId != null ? memberId : userId, expenseReportId, account);
+            }
+
+            if (result.getErrorCount() > 0) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("success", false,
+                                "message", "오류가 있는 행이 " + result.getErrorCount() + "건 있어 가져오지 않았습니다.",
+                                "data", result));
+            }
+            return ResponseEntity.ok(Map.of("success", true, "data", result));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "가져오기에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
     /**
      * 경비 항목 개별 조회
      */
@@ -364,39 +434,211 @@ public class ExpenseReportIntranetController {
     }
 
     /**
-     * 엑셀 다운로드
+     * 엑셀 다운로드 (응답 스트림에 바로 기록)
      */
     @PostMapping("/items/excel")
-    public ResponseEntity<byte[]> downloadExcel(@RequestBody ExcelDownloadRequest request, HttpSession session) {
+    public ResponseEntity<StreamingResponseBody> downloadExcel(@RequestBody ExcelDownloadRequest request, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        // 파일명 생성 (한글 인코딩)
+        String memberName = (request.getMember() != null) ? request.getMember() : "unknown";
+        String yearMonth = (request.getYearMonth() != null) ? request.getYearMonth() : "unknown";
+        String fileName = String.format("expense_report_%s_%s.xlsx", memberName, yearMonth);
+        String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename*=UTF-8''" + encodedFileName);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                expenseExcelService.writeExcel(request, outputStream);
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.err.println("Excel download error: " + e.getMessage());
+                throw e;
+            }
+        };
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    /**
+     * 엑셀 다운로드 (조회 조건으로 서버에서 직접 조회)
+     * - 행 데이터를 요청 본문으로 받지 않고 DB 커서로 읽어 응답 스트림에 바로 기록
+     */
+    @GetMapping("/items/excel")
+    public ResponseEntity<StreamingResponseBody> downloadExcelByFilter(ExpenseExcelExportFilter filter, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        String yearMonth = (filter.getYearMonth() != null && !filter.getYearMonth().isEmpty())
+                ? filter.getYearMonth() : "all";
+        String target = (filter.getMemberId() != null) ? "member" + filter.getMemberId() : "all";
+        String fileName = String.format("expense_report_%s_%s.xlsx", target, yearMonth);
+        String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename*=UTF-8''" + encodedFileName);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                expenseExcelService.writeExcel(filter, outputStream);
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.err.println("Excel download error: " + e.getMessage());
+                throw e;
+            }
+        };
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    /**
+     * 멤버별 엑셀 일괄 다운로드 (ZIP)
+     * - 조건에 맞는 지출 내역이 있는 멤버마다 통합 문서 1개를 병렬로 생성해 하나의 ZIP으로 묶음
+     * @param filter 팀/본부, 월(필수), 검색어
+     */
+    @GetMapping("/items/excel/zip")
+    public ResponseEntity<StreamingResponseBody> downloadExcelZip(ExpenseExcelExportFilter filter, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        List<MemberIntranet> members;
         try {
-            Long userId = (Long) session.getAttribute("userId");
-            if (userId == null) {
-                return ResponseEntity.status(401).build();
+            members = expenseExcelBatchService.getMembersForExport(filter);
+        } catch (Exception e) {
+            System.err.println("Excel zip download error: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (members.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String fileName = String.format("expense_reports_%s.zip", filter.getYearMonth());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        headers.setCacheControl("no-store");
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                expenseExcelBatchService.writeZip(members, filter, outputStream);
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.err.println("Excel zip download error: " + e.getMessage());
+                throw e;
             }
+        };
 
-            System.out.println("Excel download request received: " + request);
-            byte[] excelData = expenseExcelService.generateExcel(request);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
 
-            // 파일명 생성 (한글 인코딩)
-            String memberName = (request.getMember() != null) ? request.getMember() : "unknown";
-            String yearMonth = (request.getYearMonth() != null) ? request.getYearMonth() : "unknown";
-            String fileName = String.format("expense_report_%s_%s.xlsx", memberName, yearMonth);
-            String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+    /**
+     * 엑셀 내보내기 작업 등록 (백그라운드 생성 후 나중에 다운로드)
+     * @param type EXCEL (통합 문서 1개) 또는 ZIP (멤버별 묶음)
+     */
+    @PostMapping("/items/excel/jobs")
+    public ResponseEntity<Map<String, Object>> submitExportJob(@RequestParam(value = "type", defaultValue = "EXCEL") String type,
+                                                               ExpenseExcelExportFilter filter,
+                                                               HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401)
+                    .body(Map.of("success", false, "message", "로그인이 필요합니다."));
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.set(HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename*=UTF-8''" + encodedFileName);
-            headers.setContentLength(excelData.length);
+        try {
+            ExpenseExportJobService.ExportJob job = expenseExportJobService.submit(type.toUpperCase(), filter, userId);
+            return ResponseEntity.status(202).body(Map.of("success", true, "data", job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503)
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelData);
+    /**
+     * 내 엑셀 내보내기 작업 목록
+     */
+    @GetMapping("/items/excel/jobs")
+    public ResponseEntity<Map<String, Object>> getExportJobs(HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401)
+                    .body(Map.of("success", false, "message", "로그인이 필요합니다."));
+        }
+
+        return ResponseEntity.ok(Map.of("success", true, "data", expenseExportJobService.getJobs(userId)));
+    }
+
+    /**
+     * 엑셀 내보내기 작업 상태 (진행률)
+     */
+    @GetMapping("/items/excel/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getExportJob(@PathVariable String jobId, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401)
+                    .body(Map.of("success", false, "message", "로그인이 필요합니다."));
+        }
+
+        try {
+            return ResponseEntity.ok(Map.of("success", true, "data", expenseExportJobService.getJob(jobId, userId)));
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Excel download error: " + e.getMessage());
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.status(404)
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 엑셀 내보내기 작업 파일 다운로드
+     */
+    @GetMapping("/items/excel/jobs/{jobId}/file")
+    public void downloadExportJobFile(@PathVariable String jobId, HttpSession session,
+                                      HttpServletResponse response) throws IOException {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "로그인이 필요합니다");
+            return;
+        }
+
+        ExpenseExportJobService.ExportJob job;
+        Path file;
+        try {
+            job = expenseExportJobService.getJob(jobId, userId);
+            file = expenseExportJobService.getFile(jobId, userId);
+        } catch (RuntimeException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
         }
+
+        String encodedFileName = URLEncoder.encode(job.getFileName(), StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+        response.setContentType(ExpenseExportJobService.TYPE_ZIP.equals(job.getType())
+                ? "application/zip" : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFileName);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setContentLengthLong(Files.size(file));
+        Files.copy(file, response.getOutputStream());
     }
 
     /**
@@ -435,15 +677,36 @@ public class ExpenseReportIntranetController {
 
     /**
      * 미확인 경비 조회
+     * GET /api/intranet/expense-reports/items/unread
+     * GET /api/intranet/expense-reports/items/unread?page=1&size=20 (신청 건 단위 페이지 조회)
      */
     @GetMapping("/items/unread")
-    public ResponseEntity<List<UnreadExpenseDto>> getUnreadExpenses(HttpSession session) {
+    public ResponseEntity<?> getUnreadExpenses(@RequestParam(required = false) Integer page,
+                                               @RequestParam(required = false) Integer size,
+                                               HttpSession session) {
         try {
             Long userId = (Long) session.getAttribute("userId");
             if (userId == null) {
                 return ResponseEntity.status(401).build();
             }
 
+            // 페이지 조회
+            if (page != null) {
+                int pageSize = (size == null || size <= 0) ? UNREAD_PAGE_SIZE : Math.min(size, UNREAD_MAX_PAGE_SIZE);
+                int currentPage = Math.max(page, 1);
+                int totalCount = expenseItemService.countUnreadExpenses(userId);
+                List<UnreadExpenseDto> unreadExpenses = expenseItemService.getUnreadExpenses(userId, currentPage, pageSize);
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "items", unreadExpenses,
+                        "page", currentPage,
+                        "size", pageSize,
+                        "totalCount", totalCount,
+                        "totalPages", (totalCount + pageSize - 1) / pageSize
+                ));
+            }
+
             List<UnreadExpenseDto> unreadExpenses = expenseItemService.getUnreadExpenses(userId);
             return ResponseEntity.ok(unreadExpenses);
         } catch (Exception e) {
@@ -1,13 +1,18 @@
 package com.ync.intranet.controller;
 
 import com.ync.intranet.domain.NotificationIntranet;
-import com.ync.intranet.mapper.NotificationIntranetMapper;
+import com.ync.intranet.service.NotificationPushService;
+import com.ync.intranet.service.NotificationService;
 import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,25 +25,80 @@ public class NotificationController {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationController.class);
 
-    private final NotificationIntranetMapper notificationMapper;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
-    public NotificationController(NotificationIntranetMapper notificationMapper) {
-        this.notificationMapper = notificationMapper;
+    // 커서 형식: {created_at ISO-8601}_{id}
+    private static final String CURSOR_SEPARATOR = "_";
+
+    private final NotificationService notificationService;
+    private final NotificationPushService notificationPushService;
+
+    public NotificationController(NotificationService notificationService,
+                                  NotificationPushService notificationPushService) {
+        this.notificationService = notificationService;
+        this.notificationPushService = notificationPushService;
     }
 
     /**
      * 내 알림 목록 조회
      * GET /api/intranet/notifications
+     * GET /api/intranet/notifications?before={cursor}&limit=20&type=APPROVAL_REQUEST&read=false
+     * 파라미터가 없으면 최근 20개 목록을, 있으면 커서 페이지({notifications, nextCursor, hasMore})를 반환
      */
     @GetMapping
-    public ResponseEntity<List<NotificationIntranet>> getMyNotifications(HttpSession session) {
+    public ResponseEntity<?> getMyNotifications(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Boolean read,
+            HttpSession session
+    ) {
         Long memberId = (Long) session.getAttribute("userId");
         if (memberId == null) {
             return ResponseEntity.status(401).build();
         }
 
-        List<NotificationIntranet> notifications = notificationMapper.findByMemberId(memberId);
-        return ResponseEntity.ok(notifications);
+        if (before == null && limit == null && type == null && read == null) {
+            List<NotificationIntranet> notifications = notificationService.getNotifications(memberId);
+            return ResponseEntity.ok(notifications);
+        }
+
+        LocalDateTime beforeCreatedAt = null;
+        Long beforeId = null;
+        if (before != null && !before.isEmpty()) {
+            int separator = before.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                beforeCreatedAt = LocalDateTime.parse(before.substring(0, separator));
+                beforeId = Long.parseLong(before.substring(separator + 1));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("success", false, "message", "잘못된 커서입니다."));
+            }
+        }
+
+        int pageSize = (limit == null || limit < 1) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<NotificationIntranet> notifications = notificationService.getNotificationPage(
+                memberId, beforeCreatedAt, beforeId, type, read, pageSize + 1);
+        boolean hasMore = notifications.size() > pageSize;
+        if (hasMore) {
+            notifications = notifications.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationIntranet last = notifications.get(notifications.size() - 1);
+            nextCursor = last.getCreatedAt() + CURSOR_SEPARATOR + last.getId();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("notifications", notifications);
+        response.put("nextCursor", nextCursor);
+        response.put("hasMore", hasMore);
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -52,18 +112,39 @@ public class NotificationController {
             return ResponseEntity.status(401).build();
         }
 
-        int count = notificationMapper.countUnreadByMemberId(memberId);
+        int count = notificationService.getUnreadCount(memberId);
         return ResponseEntity.ok(Map.of("count", count));
     }
 
+    /**
+     * 알림 실시간 구독 (SSE)
+     * GET /api/intranet/notifications/stream
+     * 이벤트: notification (새 알림 + 읽지 않은 개수), unread-count (읽지 않은 개수)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(HttpSession session) {
+        Long memberId = (Long) session.getAttribute("userId");
+        if (memberId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        int count = notificationService.getUnreadCount(memberId);
+        return ResponseEntity.ok(notificationPushService.subscribe(memberId, count));
+    }
+
     /**
      * 알림 읽음 처리
      * POST /api/intranet/notifications/{id}/read
      */
     @PostMapping("/{id}/read")
-    public ResponseEntity<Map<String, Object>> markAsRead(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> markAsRead(@PathVariable Long id, HttpSession session) {
+        Long memberId = (Long) session.getAttribute("userId");
+        if (memberId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
         try {
-            notificationMapper.markAsRead(id);
+            notificationService.markAsRead(memberId, id);
             return ResponseEntity.ok(Map.of("success", true));
         } catch (Exception e) {
             log.error("알림 읽음 처리 실패: {}", e.getMessage());
@@ -83,7 +164,7 @@ public class NotificationController {
         }
 
         try {
-            notificationMapper.markAllAsRead(memberId);
+            notificationService.markAllAsRead(memberId);
             return ResponseEntity.ok(Map.of("success", true));
         } catch (Exception e) {
             log.error("전체 읽음 처리 실패: {}", e.getMessage());
@@ -103,7 +184,7 @@ public class NotificationController {
         }
 
         try {
-            notificationMapper.deleteById(id);
+            notificationService.deleteNotification(memberId, id);
             return ResponseEntity.ok(Map.of("success", true));
         } catch (Exception e) {
             log.error("알림 삭제 실패: {}", e.getMessage());
@@ -118,7 +199,7 @@ public class NotificationController {
     @PostMapping
     public ResponseEntity<Map<String, Object>> createNotification(@RequestBody NotificationIntranet notification) {
         try {
-            notificationMapper.insert(notification);
+            notificationService.createNotification(notification);
             return ResponseEntity.ok(Map.of("success", true, "id", notification.getId()));
         } catch (Exception e) {
             log.error("알림 생성 실패: {}", e.getMessage());
@@ -15,6 +15,10 @@ public class AttachmentIntranet {
     private String fileType;           // 파일 타입 (MIME type)
     private Long uploadedBy;           // 업로드한 사용자 ID
     private LocalDateTime uploadedAt;  // 업로드 일시
+    private String contentHash;        // 파일 내용 SHA-256 (중복 저장 방지, 이전 업로드는 null)
+
+    // 조회용 (JOIN)
+    private String documentTitle;      // 문서 제목
 
     // 기본 생성자
     public AttachmentIntranet() {
@@ -98,6 +102,22 @@ public class AttachmentIntranet {
         this.uploadedAt = uploadedAt;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getDocumentTitle() {
+        return documentTitle;
+    }
+
+    public void setDocumentTitle(String documentTitle) {
+        this.documentTitle = documentTitle;
+    }
+
     // Builder 패턴
     public static Builder builder() {
         return new Builder();
@@ -112,6 +132,7 @@ public class AttachmentIntranet {
         private String fileType;
         private Long uploadedBy;
         private LocalDateTime uploadedAt;
+        private String contentHash;
 
         public Builder id(Long id) {
             this.id = id;
@@ -153,9 +174,16 @@ public class AttachmentIntranet {
             return this;
         }
 
+        public Builder contentHash(String contentHash) {
+            this.contentHash = contentHash;
+            return this;
+        }
+
         public AttachmentIntranet build() {
-            return new AttachmentIntranet(id, documentId, fileName, filePath,
-                                          fileSize, fileType, uploadedBy, uploadedAt);
+            AttachmentIntranet attachment = new AttachmentIntranet(id, documentId, fileName, filePath,
+                                                                   fileSize, fileType, uploadedBy, uploadedAt);
+            attachment.setContentHash(contentHash);
+            return attachment;
         }
     }
 }
@@ -17,6 +17,8 @@ public class DocumentIntranet {
     private String authorDepartment;  // JOIN용 (작성자 부서)
     private String title;
     private String content;
+    private String contentPreview;  // 목록 조회용 (본문 앞부분)
+    private String scheduleInfo;    // 목록 조회용 ([일정정보:...] 부분)
     private DocumentStatus status;
     private String metadata;  // JSON 형식
     private LocalDateTime createdAt;
@@ -118,6 +120,22 @@ public class DocumentIntranet {
         this.content = content;
     }
 
+    public String getContentPreview() {
+        return contentPreview;
+    }
+
+    public void setContentPreview(String contentPreview) {
+        this.contentPreview = contentPreview;
+    }
+
+    public String getScheduleInfo() {
+        return scheduleInfo;
+    }
+
+    public void setScheduleInfo(String scheduleInfo) {
+        this.scheduleInfo = scheduleInfo;
+    }
+
     public DocumentStatus getStatus() {
         return status;
     }
@@ -16,6 +16,8 @@ public class NotificationIntranet {
     private Boolean isRead;
     private LocalDateTime createdAt;
     private LocalDateTime readAt;
+    private String groupKey;           // 묶음 알림 키 (유형:기본 제목)
+    private Integer aggregateCount;    // 묶인 알림 건수
 
     public NotificationIntranet() {
     }
@@ -111,6 +113,22 @@ public class NotificationIntranet {
         this.readAt = readAt;
     }
 
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public Integer getAggregateCount() {
+        return aggregateCount;
+    }
+
+    public void setAggregateCount(Integer aggregateCount) {
+        this.aggregateCount = aggregateCount;
+    }
+
     // Notification Types
     public static class NotificationType {
         public static final String APPROVAL_REQUEST = "APPROVAL_REQUEST";      // 결재 요청
@@ -122,6 +140,7 @@ public class NotificationIntranet {
         public static final String LEAVE_REJECTED = "LEAVE_REJECTED";          // 휴가 반려됨
         public static final String ANNOUNCEMENT = "ANNOUNCEMENT";              // 공지사항
         public static final String MENTION = "MENTION";                        // 멘션
+        public static final String EXPORT_COMPLETED = "EXPORT_COMPLETED";      // 내보내기 완료
     }
 
     // Builder
@@ -0,0 +1,103 @@
+package com.ync.intranet.dto;
+
+import java.util.Map;
+
+/**
+ * 결재 처리 소요시간 통계 (결재자별 / 문서유형별)
+ * 시간 단위는 모두 분(minute)
+ */
+public class ApprovalLatencyStatsDto {
+    private String key;                 // 결재자 ID 또는 문서 유형
+    private String label;               // 표시용 이름 (결재자 이름 / 문서 유형)
+    private long count;                 // 처리 건수
+    private long approvedCount;         // 승인 건수
+    private long rejectedCount;         // 반려 건수
+    private double avgMinutes;          // 평균 소요시간
+    private long p50Minutes;            // 중앙값 (버킷 상한 기준 추정치)
+    private long p90Minutes;            // 90 백분위 (버킷 상한 기준 추정치)
+    private long maxMinutes;            // 최대 소요시간
+    private Map<String, Long> histogram;  // 버킷 라벨 -> 건수
+
+    public ApprovalLatencyStatsDto() {
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getApprovedCount() {
+        return approvedCount;
+    }
+
+    public void setApprovedCount(long approvedCount) {
+        this.approvedCount = approvedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public double getAvgMinutes() {
+        return avgMinutes;
+    }
+
+    public void setAvgMinutes(double avgMinutes) {
+        this.avgMinutes = avgMinutes;
+    }
+
+    public long getP50Minutes() {
+        return p50Minutes;
+    }
+
+    public void setP50Minutes(long p50Minutes) {
+        this.p50Minutes = p50Minutes;
+    }
+
+    public long getP90Minutes() {
+        return p90Minutes;
+    }
+
+    public void setP90Minutes(long p90Minutes) {
+        this.p90Minutes = p90Minutes;
+    }
+
+    public long getMaxMinutes() {
+        return maxMinutes;
+    }
+
+    public void setMaxMinutes(long maxMinutes) {
+        this.maxMinutes = maxMinutes;
+    }
+
+    public Map<String, Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(Map<String, Long> histogram) {
+        this.histogram = histogram;
+    }
+}
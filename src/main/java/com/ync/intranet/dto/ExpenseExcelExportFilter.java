@@ -0,0 +1,67 @@
+package com.ync.intranet.dto;
+
+/**
+ * 서버 조회 기반 엑셀 다운로드 조건
+ * - memberId, departmentId, parentDepartmentId 는 앞의 것이 우선 적용됨 (화면 필터와 동일)
+ */
+public class ExpenseExcelExportFilter {
+    private Long memberId;              // 멤버
+    private Long departmentId;          // 팀
+    private Long parentDepartmentId;    // 본부
+    private String yearMonth;           // YYYY-MM 형식 (없으면 전체 기간)
+    private String keyword;             // 사용 내용/업소명/비고/계정/코드 검색어
+
+    public ExpenseExcelExportFilter() {
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Long getParentDepartmentId() {
+        return parentDepartmentId;
+    }
+
+    public void setParentDepartmentId(Long parentDepartmentId) {
+        this.parentDepartmentId = parentDepartmentId;
+    }
+
+    public String getYearMonth() {
+        return yearMonth;
+    }
+
+    public void setYearMonth(String yearMonth) {
+        this.yearMonth = yearMonth;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpenseExcelExportFilter{" +
+                "memberId=" + memberId +
+                ", departmentId=" + departmentId +
+                ", parentDepartmentId=" + parentDepartmentId +
+                ", yearMonth='" + yearMonth + '\'' +
+                ", keyword='" + keyword + '\'' +
+                '}';
+    }
+}
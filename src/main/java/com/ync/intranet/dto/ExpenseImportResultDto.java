@@ -0,0 +1,56 @@
+package com.ync.intranet.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExpenseImportResultDto {
+    private int totalRows;          // 읽은 데이터 행 수 (빈 행 제외)
+    private int importedCount;      // 등록된 항목 수 (오류가 있으면 0)
+    private BigDecimal importedAmount = BigDecimal.ZERO;
+    private int errorCount;
+    private List<String> errors = new ArrayList<>();   // "n행: 사유" (최대 100건)
+
+    public ExpenseImportResultDto() {
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public BigDecimal getImportedAmount() {
+        return importedAmount;
+    }
+
+    public void setImportedAmount(BigDecimal importedAmount) {
+        this.importedAmount = importedAmount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(int errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
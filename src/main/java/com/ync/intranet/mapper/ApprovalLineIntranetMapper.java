@@ -22,6 +22,11 @@ public interface ApprovalLineIntranetMapper {
      */
     List<ApprovalLineIntranet> findByDocumentId(@Param("documentId") Long documentId);
 
+    /**
+     * 여러 문서의 결재선 일괄 조회 (문서 목록용, 문서 정보 JOIN 없음)
+     */
+    List<ApprovalLineIntranet> findByDocumentIds(@Param("documentIds") List<Long> documentIds);
+
     /**
      * 결재자별 대기중인 결재 조회
      */
@@ -32,6 +37,12 @@ public interface ApprovalLineIntranetMapper {
      */
     List<ApprovalLineIntranet> findByApproverId(@Param("approverId") Long approverId);
 
+    /**
+     * 결재자별 최근 처리한 결재 N건 조회 (승인/반려)
+     */
+    List<ApprovalLineIntranet> findRecentDecidedByApproverId(@Param("approverId") Long approverId,
+                                                             @Param("limit") int limit);
+
     /**
      * 결재자별 완료된 결재 조회 (제목, 날짜 검색 가능)
      */
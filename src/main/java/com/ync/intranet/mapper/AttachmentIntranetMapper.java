@@ -4,7 +4,9 @@ import com.ync.intranet.domain.AttachmentIntranet;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 첨부파일 Mapper (인트라넷)
@@ -18,6 +20,84 @@ public interface AttachmentIntranetMapper {
      */
     void insert(AttachmentIntranet attachment);
 
+    /**
+     * 저장 파일(blob) 경로 조회
+     * @param contentHash 파일 내용 SHA-256
+     * @return 저장 경로 (없으면 null)
+     */
+    String findBlobPath(@Param("contentHash") String contentHash);
+
+    /**
+     * 저장 파일(blob) 등록 (참조 1)
+     */
+    void insertBlob(@Param("contentHash") String contentHash,
+                    @Param("filePath") String filePath,
+                    @Param("fileSize") Long fileSize);
+
+    /**
+     * 저장 파일(blob) 참조 증가
+     * @return 갱신 건수 (blob이 없으면 0)
+     */
+    int incrementBlobRef(@Param("contentHash") String contentHash);
+
+    /**
+     * 저장 파일(blob) 참조 감소
+     */
+    int decrementBlobRef(@Param("contentHash") String contentHash);
+
+    /**
+     * 참조 0인 저장 파일(blob) 행 등록 - 행이 없는 파일을 정리하기 전 해시 선점
+     */
+    void insertBlobClaim(@Param("contentHash") String contentHash,
+                         @Param("filePath") String filePath);
+
+    /**
+     * 참조하는 첨부파일이 없는 저장 파일(blob) 행 잠금 (SELECT ... FOR UPDATE)
+     * @return 저장 경로 (없거나 참조 중이면 null)
+     */
+    String lockUnreferencedBlob(@Param("contentHash") String contentHash);
+
+    /**
+     * 저장 파일(blob) 목록 페이지 조회 (content_hash 순, 실제 참조 수 포함) - 저장소 정리용
+     * @param afterHash 이전 페이지 마지막 해시 (null이면 처음부터)
+     * @param createdBefore 이 일시 이전 등록이면 EXPIRED = 1
+     * @param limit 조회 건수
+     * @return CONTENT_HASH, FILE_PATH, REF_COUNT, ACTUAL_COUNT, EXPIRED
+     */
+    List<Map<String, Object>> findBlobPage(@Param("afterHash") String afterHash,
+                                           @Param("createdBefore") LocalDateTime createdBefore,
+                                           @Param("limit") int limit);
+
+    /**
+     * 존재하는 저장 파일(blob) 해시 조회 (최대 1000건)
+     */
+    List<String> findExistingBlobHashes(@Param("hashes") List<String> hashes);
+
+    /**
+     * 참조 수를 실제 첨부파일 수로 보정
+     * @return 갱신 건수
+     */
+    int syncBlobRefCount(@Param("contentHash") String contentHash);
+
+    /**
+     * 참조하는 첨부파일이 없는 저장 파일(blob) 삭제
+     * @return 삭제 건수
+     */
+    int deleteBlobIfUnreferenced(@Param("contentHash") String contentHash);
+
+    /**
+     * 이전 방식으로 저장된 첨부파일 중 존재하는 파일명 조회 (최대 1000건)
+     */
+    List<String> findExistingLegacyFileNames(@Param("fileNames") List<String> fileNames);
+
+    /**
+     * 첨부파일 페이지 조회 (ID 순) - 저장소 정리용
+     * @param afterId 이전 페이지 마지막 ID (null이면 처음부터)
+     * @param limit 조회 건수
+     */
+    List<AttachmentIntranet> findPageAfterId(@Param("afterId") Long afterId,
+                                             @Param("limit") int limit);
+
     /**
      * ID로 첨부파일 조회
      * @param id 첨부파일 ID
@@ -32,6 +112,17 @@ public interface AttachmentIntranetMapper {
      */
     List<AttachmentIntranet> findByDocumentId(@Param("documentId") Long documentId);
 
+    /**
+     * 기간 내 상신된 문서의 첨부파일 목록 조회 (문서 제목 포함)
+     * @param fromDateTime 시작 일시 (포함)
+     * @param toDateTime 종료 일시 (미포함)
+     * @param documentType 문서 유형 (null이면 전체)
+     * @return 첨부파일 목록 (상신일, 문서 순)
+     */
+    List<AttachmentIntranet> findBySubmittedPeriod(@Param("fromDateTime") LocalDateTime fromDateTime,
+                                                   @Param("toDateTime") LocalDateTime toDateTime,
+                                                   @Param("documentType") String documentType);
+
     /**
      * 첨부파일 삭제
      * @param id 첨부파일 ID
@@ -4,6 +4,7 @@ import com.ync.intranet.domain.DocumentIntranet;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.io.Reader;
 import java.util.List;
 
 /**
@@ -22,6 +23,12 @@ public interface DocumentIntranetMapper {
      */
     List<DocumentIntranet> findByAuthorId(@Param("authorId") Long authorId);
 
+    /**
+     * 작성자별 최근 문서 N건 조회
+     */
+    List<DocumentIntranet> findRecentByAuthorId(@Param("authorId") Long authorId,
+                                                @Param("limit") int limit);
+
     /**
      * 문서 유형별 조회
      */
@@ -38,6 +45,20 @@ public interface DocumentIntranetMapper {
     List<DocumentIntranet> findByAuthorIdAndStatus(@Param("authorId") Long authorId,
                                                     @Param("status") String status);
 
+    /**
+     * 작성자별 문서 페이지 조회 (상태 조건 선택)
+     */
+    List<DocumentIntranet> findByAuthorIdPaged(@Param("authorId") Long authorId,
+                                               @Param("status") String status,
+                                               @Param("offset") int offset,
+                                               @Param("limit") int limit);
+
+    /**
+     * 작성자별 문서 건수 (상태 조건 선택)
+     */
+    int countByAuthorId(@Param("authorId") Long authorId,
+                        @Param("status") String status);
+
     /**
      * 문서 유형 + 상태 조합 조회
      */
@@ -49,6 +70,16 @@ public interface DocumentIntranetMapper {
      */
     List<DocumentIntranet> findAllOrderByCreatedAtDesc();
 
+    /**
+     * 문서 본문 길이 (문자 수, 문서가 없으면 null)
+     */
+    Long getContentLength(@Param("id") Long id);
+
+    /**
+     * 문서 본문 CLOB Reader 조회 (트랜잭션 안에서만 읽을 수 있음, 본문이 없으면 null)
+     */
+    Reader findContentReader(@Param("id") Long id);
+
     /**
      * 문서 등록
      */
@@ -1,8 +1,11 @@
 package com.ync.intranet.mapper;
 
 import com.ync.intranet.domain.ExpenseItemIntranet;
+import com.ync.intranet.domain.MemberIntranet;
+import com.ync.intranet.dto.ExpenseExcelExportFilter;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -17,6 +20,11 @@ public interface ExpenseItemIntranetMapper {
      */
     ExpenseItemIntranet findById(@Param("id") Long id);
 
+    /**
+     * 여러 ID로 경비 항목 일괄 조회
+     */
+    List<ExpenseItemIntranet> findByIds(@Param("ids") List<Long> ids);
+
     /**
      * 경비보고서 ID로 항목 조회
      */
@@ -90,6 +98,15 @@ public interface ExpenseItemIntranetMapper {
      */
     List<ExpenseItemIntranet> findByExpenseReadId(@Param("expenseReadId") Long expenseReadId);
 
+    /**
+     * 미확인 경비 신청 건의 항목 일괄 조회 (최근 신청 건 순, 신청 건 단위로 offset/limit 적용)
+     * @param offset 건너뛸 신청 건 수 (null 이면 전체)
+     * @param limit 조회할 신청 건 수 (null 이면 전체)
+     */
+    List<ExpenseItemIntranet> findUnreadByReaderMemberId(@Param("readerMemberId") Long readerMemberId,
+                                                         @Param("offset") Integer offset,
+                                                         @Param("limit") Integer limit);
+
     /**
      * EXPENSE_READ_ID 업데이트
      */
@@ -99,4 +116,20 @@ public interface ExpenseItemIntranetMapper {
      * 여러 항목의 EXPENSE_READ_ID 일괄 업데이트
      */
     void updateExpenseReadIdBatch(@Param("ids") List<Long> ids, @Param("expenseReadId") Long expenseReadId);
+
+    /**
+     * 엑셀 다운로드 대상 항목 수
+     */
+    int countForExport(@Param("filter") ExpenseExcelExportFilter filter);
+
+    /**
+     * 엑셀 다운로드 대상 항목 (사용일자순, 커서로 한 행씩 읽음)
+     * 트랜잭션 안에서 사용하고 반드시 닫아야 함
+     */
+    Cursor<ExpenseItemIntranet> streamForExport(@Param("filter") ExpenseExcelExportFilter filter);
+
+    /**
+     * 엑셀 다운로드 대상 항목이 있는 멤버 (id, name, 이름순)
+     */
+    List<MemberIntranet> findMembersForExport(@Param("filter") ExpenseExcelExportFilter filter);
 }
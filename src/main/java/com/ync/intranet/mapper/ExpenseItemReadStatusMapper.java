@@ -40,12 +40,22 @@ public interface ExpenseItemReadStatusMapper {
     int countUnreadByReaderMemberId(@Param("readerMemberId") Long readerMemberId);
 
     /**
-     * MAX(ID) + 1 조회 (ID가 없으면 1 반환)
+     * 미확인 경비 신청 건 수 (항목이 있는 READ_STATUS.ID 기준)
      */
-    Long getNextId();
+    int countUnreadGroupsByReaderMemberId(@Param("readerMemberId") Long readerMemberId);
+
+    /**
+     * 경비 신청 건(읽음 상태 그룹) ID 발급 (SEQ_EXPENSE_READ_GROUP)
+     */
+    Long nextGroupId();
 
     /**
      * ID를 직접 지정하여 INSERT
      */
     void insertWithId(ExpenseItemReadStatus readStatus);
+
+    /**
+     * ID를 직접 지정하여 일괄 INSERT
+     */
+    void insertBatchWithId(@Param("items") List<ExpenseItemReadStatus> readStatuses);
 }
@@ -48,6 +48,11 @@ public interface ExpenseReportIntranetMapper {
      */
     void updateTotalAmount(@Param("id") Long id, @Param("totalAmount") java.math.BigDecimal totalAmount);
 
+    /**
+     * 총 금액 증감 (항목 추가/수정/삭제 시 차액만 반영)
+     */
+    void addTotalAmount(@Param("id") Long id, @Param("delta") java.math.BigDecimal delta);
+
     /**
      * 경비보고서 삭제
      */
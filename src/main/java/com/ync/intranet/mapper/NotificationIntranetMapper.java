@@ -4,7 +4,9 @@ import com.ync.intranet.domain.NotificationIntranet;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 알림 Mapper (인트라넷)
@@ -17,33 +19,109 @@ public interface NotificationIntranetMapper {
      */
     void insert(NotificationIntranet notification);
 
+    /**
+     * 묶을 수 있는 최근 미읽음 알림 조회
+     * @param windowMinutes 묶음 기준 시간 (분)
+     */
+    NotificationIntranet findCoalescible(@Param("memberId") Long memberId,
+                                         @Param("groupKey") String groupKey,
+                                         @Param("windowMinutes") int windowMinutes);
+
+    /**
+     * 기존 미읽음 알림에 묶기
+     * @return 갱신 건수 (그 사이 읽음 처리되었으면 0)
+     */
+    int mergeInto(@Param("id") Long id,
+                  @Param("baseTitle") String baseTitle,
+                  @Param("content") String content);
+
+    /**
+     * 일일 요약 대상 조회
+     * @return MEMBER_ID, NOTIFICATION_TYPE, ROW_COUNT, TOTAL_COUNT
+     */
+    List<Map<String, Object>> findDigestTargets(@Param("threshold") int threshold);
+
+    /**
+     * 전일까지의 미읽음 알림 삭제 (일일 요약으로 대체)
+     * @return 삭제 건수
+     */
+    int deleteUnreadBeforeToday(@Param("memberId") Long memberId,
+                                @Param("notificationType") String notificationType);
+
     /**
      * 사용자별 알림 조회 (최근 20개)
      */
     List<NotificationIntranet> findByMemberId(@Param("memberId") Long memberId);
 
+    /**
+     * 사용자별 알림 커서 조회 (created_at, id 내림차순)
+     * @param beforeCreatedAt 커서 생성일시 (null이면 처음부터)
+     * @param beforeId 커서 알림 ID
+     * @param notificationType 유형 필터 (선택)
+     * @param isRead 읽음 여부 필터 (선택)
+     * @param limit 최대 건수
+     */
+    List<NotificationIntranet> findPageByMemberId(@Param("memberId") Long memberId,
+                                                  @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                  @Param("beforeId") Long beforeId,
+                                                  @Param("notificationType") String notificationType,
+                                                  @Param("isRead") Boolean isRead,
+                                                  @Param("limit") int limit);
+
     /**
      * 읽지 않은 알림 개수
      */
     int countUnreadByMemberId(@Param("memberId") Long memberId);
 
     /**
-     * 알림 읽음 처리
+     * 사용자별 읽지 않은 알림 개수 (카운터 보정용)
+     * @return MEMBER_ID, UNREAD_COUNT
      */
-    void markAsRead(@Param("id") Long id);
+    List<Map<String, Object>> countUnreadGroupByMember();
+
+    /**
+     * 알림 조회 (ID)
+     */
+    NotificationIntranet findById(@Param("id") Long id);
+
+    /**
+     * 알림 읽음 처리 (본인 알림 중 읽지 않은 것만)
+     * @return 읽음 처리된 건수 (0 또는 1)
+     */
+    int markAsRead(@Param("id") Long id, @Param("memberId") Long memberId);
 
     /**
      * 전체 읽음 처리
+     * @return 읽음 처리된 건수
      */
-    void markAllAsRead(@Param("memberId") Long memberId);
+    int markAllAsRead(@Param("memberId") Long memberId);
 
     /**
      * 알림 삭제
      */
-    void deleteById(@Param("id") Long id);
+    int deleteById(@Param("id") Long id);
 
     /**
      * 오래된 읽은 알림 삭제 (7일 이상)
      */
     void deleteOldReadNotifications();
+
+    /**
+     * 보관 기간이 지난 알림 ID 조회 (정리 작업용)
+     * @param isRead true: 읽은 후 days일 경과, false: 생성 후 days일 경과한 읽지 않은 알림
+     * @param limit 최대 건수
+     */
+    List<Long> findExpiredIds(@Param("isRead") boolean isRead,
+                              @Param("days") int days,
+                              @Param("limit") int limit);
+
+    /**
+     * 알림 이력 테이블로 복사
+     */
+    int archiveByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 알림 일괄 삭제
+     */
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
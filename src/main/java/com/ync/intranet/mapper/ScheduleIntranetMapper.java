@@ -43,6 +43,11 @@ public interface ScheduleIntranetMapper {
      */
     List<ScheduleIntranet> findByMemberId(Long memberId);
 
+    /**
+     * 특정 사용자의 최근 일정 N건 조회
+     */
+    List<ScheduleIntranet> findRecentByMemberId(@Param("memberId") Long memberId, @Param("limit") int limit);
+
     /**
      * 기간별 일정 조회
      */
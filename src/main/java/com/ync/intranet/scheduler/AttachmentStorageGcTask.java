@@ -0,0 +1,64 @@
+package com.ync.intranet.scheduler;
+
+import com.ync.intranet.service.AttachmentStorageGcService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 첨부파일 저장소 정리 배치 작업
+ *
+ * 매일 새벽(기본 04:00) 실행되어 DB와 저장 디렉토리를 대조하고,
+ * 유예 기간(grace-hours)이 지난 고아 파일과 참조 없는 blob을 삭제합니다.
+ */
+@Component
+public class AttachmentStorageGcTask {
+
+    private final AttachmentStorageGcService gcService;
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Value("${intranet.attachment.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${intranet.attachment.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${intranet.attachment.gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${intranet.attachment.gc.batch-pause-ms:100}")
+    private long batchPauseMs;
+
+    public AttachmentStorageGcTask(AttachmentStorageGcService gcService) {
+        this.gcService = gcService;
+    }
+
+    /**
+     * 첨부파일 저장소 정리
+     */
+    @Scheduled(cron = "${intranet.attachment.gc.cron:0 0 4 * * *}")
+    public void collectOrphanedFiles() {
+        if (!enabled) {
+            return;
+        }
+
+        String now = LocalDateTime.now().format(formatter);
+        System.out.println("[" + now + "] 첨부파일 저장소 정리 시작 (유예 " + graceHours + "시간)");
+
+        long startTime = System.currentTimeMillis();
+        try {
+            AttachmentStorageGcService.GcResult result =
+                    gcService.collect(Duration.ofHours(Math.max(1, graceHours)), batchSize, batchPauseMs);
+            long elapsed = System.currentTimeMillis() - startTime;
+
+            System.out.println("[" + now + "] 첨부파일 저장소 정리 완료 - " + result + ", 소요시간: " + elapsed + "ms");
+        } catch (Exception e) {
+            System.err.println("[" + now + "] 첨부파일 저장소 정리 실패: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ync.intranet.scheduler;
+
+import com.ync.intranet.mapper.NotificationIntranetMapper;
+import com.ync.intranet.service.NotificationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 알림 일일 요약 배치 작업
+ *
+ * 매일 아침(기본 07:00) 실행되어, 전일까지 읽지 않은 같은 유형의 알림이 threshold건 이상인 사용자는
+ * 해당 알림들을 요약 알림 1건으로 대체합니다. (intranet.notification.digest.enabled=true 일 때만 실행)
+ */
+@Component
+public class NotificationDigestTask {
+
+    private final NotificationIntranetMapper notificationMapper;
+    private final NotificationService notificationService;
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Value("${intranet.notification.digest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${intranet.notification.digest.threshold:10}")
+    private int threshold;
+
+    public NotificationDigestTask(NotificationIntranetMapper notificationMapper,
+                                  NotificationService notificationService) {
+        this.notificationMapper = notificationMapper;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * 미확인 알림 일일 요약
+     */
+    @Scheduled(cron = "${intranet.notification.digest.cron:0 0 7 * * *}")
+    public void createDailyDigests() {
+        if (!enabled) {
+            return;
+        }
+
+        String now = LocalDateTime.now().format(formatter);
+        System.out.println("[" + now + "] 알림 일일 요약 시작 (기준: " + threshold + "건 이상)");
+
+        try {
+            List<Map<String, Object>> targets = notificationMapper.findDigestTargets(Math.max(2, threshold));
+            int replaced = 0;
+            for (Map<String, Object> target : targets) {
+                Long memberId = ((Number) target.get("MEMBER_ID")).longValue();
+                String notificationType = (String) target.get("NOTIFICATION_TYPE");
+                long totalCount = ((Number) target.get("TOTAL_COUNT")).longValue();
+
+                // 사용자/유형별 개별 트랜잭션
+                replaced += notificationService.createDailyDigest(memberId, notificationType, totalCount);
+            }
+            System.out.println("[" + now + "] 알림 일일 요약 완료 - 대상: " + targets.size() + "건, 대체된 알림: " + replaced + "건");
+        } catch (Exception e) {
+            System.err.println("[" + now + "] 알림 일일 요약 실패: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
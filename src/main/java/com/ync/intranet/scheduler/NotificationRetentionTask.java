@@ -0,0 +1,96 @@
+package com.ync.intranet.scheduler;
+
+import com.ync.intranet.service.NotificationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 알림 보관 기간 정리 배치 작업
+ *
+ * 매일 새벽(기본 03:30) 실행되어 보관 기간이 지난 알림을 삭제합니다.
+ * - 읽은 알림: 읽은 후 read-days일 경과
+ * - 읽지 않은 알림: 생성 후 unread-days일 경과
+ * 긴 잠금/undo를 피하기 위해 chunk-size건씩 별도 트랜잭션으로 삭제하고, 사이에 chunk-pause-ms만큼 쉽니다.
+ */
+@Component
+public class NotificationRetentionTask {
+
+    private final NotificationService notificationService;
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Value("${intranet.notification.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${intranet.notification.retention.read-days:30}")
+    private int readDays;
+
+    @Value("${intranet.notification.retention.unread-days:180}")
+    private int unreadDays;
+
+    @Value("${intranet.notification.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${intranet.notification.retention.chunk-pause-ms:200}")
+    private long chunkPauseMs;
+
+    @Value("${intranet.notification.retention.archive:false}")
+    private boolean archive;
+
+    public NotificationRetentionTask(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * 보관 기간이 지난 알림 정리
+     */
+    @Scheduled(cron = "${intranet.notification.retention.cron:0 30 3 * * *}")
+    public void purgeExpiredNotifications() {
+        if (!enabled) {
+            return;
+        }
+
+        String now = LocalDateTime.now().format(formatter);
+        System.out.println("[" + now + "] 알림 보관 기간 정리 시작 (읽음 " + readDays + "일, 미읽음 " + unreadDays + "일, 이력 보관: " + archive + ")");
+
+        long startTime = System.currentTimeMillis();
+        try {
+            int readPurged = purge(true, readDays);
+            int unreadPurged = purge(false, unreadDays);
+            long elapsed = System.currentTimeMillis() - startTime;
+
+            System.out.println("[" + now + "] 알림 보관 기간 정리 완료 - 읽은 알림: " + readPurged
+                    + "건, 읽지 않은 알림: " + unreadPurged + "건, 소요시간: " + elapsed + "ms");
+        } catch (Exception e) {
+            System.err.println("[" + now + "] 알림 보관 기간 정리 실패: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private int purge(boolean isRead, int days) {
+        if (days <= 0) {
+            return 0;
+        }
+
+        // IN 절 최대 1000건
+        int limit = Math.max(1, Math.min(chunkSize, 1000));
+        int total = 0;
+        while (true) {
+            int deleted = notificationService.purgeExpiredChunk(isRead, days, limit, archive);
+            total += deleted;
+            if (deleted < limit) {
+                return total;
+            }
+
+            try {
+                Thread.sleep(chunkPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.ApprovalLineIntranet;
+import com.ync.intranet.dto.ApprovalLatencyStatsDto;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 결재 처리 소요시간 지표 서비스 (인트라넷)
+ *
+ * 결재 요청(submitted_at) ~ 결재 처리(decided_at) 소요시간을 결재자별/문서유형별
+ * 롤링 히스토그램에 누적합니다. 승인/반려 시점에 증분 갱신되며 DB 조회는 하지 않습니다.
+ * - 일 단위 슬라이스 WINDOW_DAYS개를 순환 사용 (최근 WINDOW_DAYS일 집계)
+ * - 프로세스 메모리에만 유지되므로 재기동 시 초기화됩니다.
+ */
+@Service
+public class ApprovalMetricsService {
+
+    /** 집계 기간 (일) */
+    public static final int WINDOW_DAYS = 30;
+
+    /** 히스토그램 버킷 상한 (분): 5분, 15분, 30분, 1시간, 2시간, 4시간, 8시간, 1일, 2일, 3일, 7일 (+ 초과 버킷) */
+    private static final long[] BUCKET_BOUNDS_MINUTES = {5, 15, 30, 60, 120, 240, 480, 1440, 2880, 4320, 10080};
+
+    private static final String[] BUCKET_LABELS = {
+        "~5분", "~15분", "~30분", "~1시간", "~2시간", "~4시간", "~8시간",
+        "~1일", "~2일", "~3일", "~7일", "7일 초과"
+    };
+
+    private final Map<Long, LatencyHistogram> byApprover = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> byDocumentType = new ConcurrentHashMap<>();
+    private final Map<Long, String> approverNames = new ConcurrentHashMap<>();
+
+    /**
+     * 결재 처리 결과 기록
+     * 트랜잭션 안에서 호출되면 커밋 이후에 반영 (롤백된 결재는 집계하지 않음)
+     * @param approvalLine 처리된 결재선 (submittedAt, decidedAt, decision 필수)
+     */
+    public void recordDecision(ApprovalLineIntranet approvalLine) {
+        if (approvalLine == null || approvalLine.getSubmittedAt() == null || approvalLine.getDecidedAt() == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRecord(approvalLine);
+                }
+            });
+        } else {
+            doRecord(approvalLine);
+        }
+    }
+
+    private void doRecord(ApprovalLineIntranet approvalLine) {
+        long minutes = Math.max(0, Duration.between(approvalLine.getSubmittedAt(), approvalLine.getDecidedAt()).toMinutes());
+        boolean approved = approvalLine.getDecision() == ApprovalLineIntranet.ApprovalDecision.APPROVED;
+        long epochDay = approvalLine.getDecidedAt().toLocalDate().toEpochDay();
+
+        String documentType = (approvalLine.getDocument() != null && approvalLine.getDocument().getDocumentType() != null)
+                ? approvalLine.getDocument().getDocumentType().name()
+                : "UNKNOWN";
+
+        if (approvalLine.getApproverName() != null) {
+            approverNames.put(approvalLine.getApproverId(), approvalLine.getApproverName());
+        }
+
+        byApprover.computeIfAbsent(approvalLine.getApproverId(), k -> new LatencyHistogram())
+                .record(minutes, approved, epochDay);
+        byDocumentType.computeIfAbsent(documentType, k -> new LatencyHistogram())
+                .record(minutes, approved, epochDay);
+    }
+
+    /**
+     * 결재자별 소요시간 통계
+     */
+    public List<ApprovalLatencyStatsDto> getApproverStats() {
+        long today = today();
+        List<ApprovalLatencyStatsDto> result = new ArrayList<>();
+        for (Map.Entry<Long, LatencyHistogram> entry : byApprover.entrySet()) {
+            ApprovalLatencyStatsDto dto = entry.getValue().snapshot(today);
+            if (dto.getCount() == 0) {
+                continue;
+            }
+            dto.setKey(String.valueOf(entry.getKey()));
+            dto.setLabel(approverNames.getOrDefault(entry.getKey(), String.valueOf(entry.getKey())));
+            result.add(dto);
+        }
+        result.sort(Comparator.comparing(ApprovalLatencyStatsDto::getKey));
+        return result;
+    }
+
+    /**
+     * 문서유형별 소요시간 통계
+     */
+    public List<ApprovalLatencyStatsDto> getDocumentTypeStats() {
+        long today = today();
+        List<ApprovalLatencyStatsDto> result = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : byDocumentType.entrySet()) {
+            ApprovalLatencyStatsDto dto = entry.getValue().snapshot(today);
+            if (dto.getCount() == 0) {
+                continue;
+            }
+            dto.setKey(entry.getKey());
+            dto.setLabel(entry.getKey());
+            result.add(dto);
+        }
+        result.sort(Comparator.comparing(ApprovalLatencyStatsDto::getKey));
+        return result;
+    }
+
+    /**
+     * 병목 결재자 리포트 (p90 소요시간 내림차순)
+     * @param limit 최대 건수
+     */
+    public List<ApprovalLatencyStatsDto> getBottleneckApprovers(int limit) {
+        List<ApprovalLatencyStatsDto> stats = getApproverStats();
+        stats.sort(Comparator.comparingLong(ApprovalLatencyStatsDto::getP90Minutes)
+                .thenComparingDouble(ApprovalLatencyStatsDto::getAvgMinutes)
+                .reversed());
+        return stats.size() > limit ? new ArrayList<>(stats.subList(0, limit)) : stats;
+    }
+
+    /**
+     * 버킷 라벨 목록
+     */
+    public List<String> getBucketLabels() {
+        return List.of(BUCKET_LABELS);
+    }
+
+    private long today() {
+        return LocalDate.now().toEpochDay();
+    }
+
+    private static int bucketIndex(long minutes) {
+        for (int i = 0; i < BUCKET_BOUNDS_MINUTES.length; i++) {
+            if (minutes <= BUCKET_BOUNDS_MINUTES[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MINUTES.length;
+    }
+
+    /**
+     * 일 단위 슬라이스를 순환하는 롤링 히스토그램
+     */
+    static final class LatencyHistogram {
+
+        private final AtomicReferenceArray<Slice> slices = new AtomicReferenceArray<>(WINDOW_DAYS);
+
+        void record(long minutes, boolean approved, long epochDay) {
+            sliceFor(epochDay).record(minutes, approved);
+        }
+
+        private Slice sliceFor(long epochDay) {
+            int index = (int) Math.floorMod(epochDay, (long) WINDOW_DAYS);
+            while (true) {
+                Slice current = slices.get(index);
+                if (current != null && current.epochDay == epochDay) {
+                    return current;
+                }
+                // 과거 데이터(지연 기록)로 최신 슬라이스를 덮어쓰지 않음
+                if (current != null && current.epochDay > epochDay) {
+                    return current;
+                }
+                Slice fresh = new Slice(epochDay);
+                if (slices.compareAndSet(index, current, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        ApprovalLatencyStatsDto snapshot(long today) {
+            long[] buckets = new long[BUCKET_LABELS.length];
+            long count = 0;
+            long approved = 0;
+            long sum = 0;
+            long max = 0;
+
+            for (int i = 0; i < WINDOW_DAYS; i++) {
+                Slice slice = slices.get(i);
+                if (slice == null || slice.epochDay <= today - WINDOW_DAYS) {
+                    continue;
+                }
+                for (int b = 0; b < buckets.length; b++) {
+                    buckets[b] += slice.buckets.get(b);
+                }
+                count += slice.count.sum();
+                approved += slice.approved.sum();
+                sum += slice.sumMinutes.sum();
+                max = Math.max(max, slice.maxMinutes.get());
+            }
+
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int b = 0; b < buckets.length; b++) {
+                histogram.put(BUCKET_LABELS[b], buckets[b]);
+            }
+
+            ApprovalLatencyStatsDto dto = new ApprovalLatencyStatsDto();
+            dto.setCount(count);
+            dto.setApprovedCount(approved);
+            dto.setRejectedCount(count - approved);
+            dto.setAvgMinutes(count > 0 ? (double) sum / count : 0.0);
+            dto.setP50Minutes(percentile(buckets, count, max, 0.5));
+            dto.setP90Minutes(percentile(buckets, count, max, 0.9));
+            dto.setMaxMinutes(max);
+            dto.setHistogram(histogram);
+            return dto;
+        }
+
+        /**
+         * 버킷 상한 기준 백분위 추정 (최대값을 넘지 않도록 보정)
+         */
+        private static long percentile(long[] buckets, long count, long max, double ratio) {
+            if (count == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(count * ratio);
+            long cumulative = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                cumulative += buckets[b];
+                if (cumulative >= target) {
+                    return b < BUCKET_BOUNDS_MINUTES.length ? Math.min(BUCKET_BOUNDS_MINUTES[b], max) : max;
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * 하루치 집계 단위
+     */
+    static final class Slice {
+        final long epochDay;
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LABELS.length);
+        final LongAdder count = new LongAdder();
+        final LongAdder approved = new LongAdder();
+        final LongAdder sumMinutes = new LongAdder();
+        final LongAccumulator maxMinutes = new LongAccumulator(Math::max, 0);
+
+        Slice(long epochDay) {
+            this.epochDay = epochDay;
+        }
+
+        void record(long minutes, boolean isApproved) {
+            buckets.incrementAndGet(bucketIndex(minutes));
+            count.increment();
+            if (isApproved) {
+                approved.increment();
+            }
+            sumMinutes.add(minutes);
+            maxMinutes.accumulate(minutes);
+        }
+    }
+}
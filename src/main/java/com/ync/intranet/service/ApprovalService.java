@@ -26,17 +26,20 @@ public class ApprovalService {
     private final ScheduleIntranetMapper scheduleMapper;
     private final MemberIntranetMapper memberMapper;
     private final NotificationService notificationService;
+    private final ApprovalMetricsService approvalMetricsService;
 
     public ApprovalService(ApprovalLineIntranetMapper approvalLineMapper,
                           DocumentIntranetMapper documentMapper,
                           ScheduleIntranetMapper scheduleMapper,
                           MemberIntranetMapper memberMapper,
-                          NotificationService notificationService) {
+                          NotificationService notificationService,
+                          ApprovalMetricsService approvalMetricsService) {
         this.approvalLineMapper = approvalLineMapper;
         this.documentMapper = documentMapper;
         this.scheduleMapper = scheduleMapper;
         this.memberMapper = memberMapper;
         this.notificationService = notificationService;
+        this.approvalMetricsService = approvalMetricsService;
     }
 
     /**
@@ -93,6 +96,7 @@ public class ApprovalService {
         approvalLine.setApprovalComment(comment);
         approvalLine.setDecidedAt(LocalDateTime.now());
         approvalLineMapper.update(approvalLine);
+        approvalMetricsService.recordDecision(approvalLine);
 
         // 5. 모든 결재가 완료되었는지 확인
         List<ApprovalLineIntranet> allApprovals = approvalLineMapper.findByDocumentId(
@@ -164,6 +168,7 @@ public class ApprovalService {
         approvalLine.setApprovalComment(comment != null ? comment : "");
         approvalLine.setDecidedAt(LocalDateTime.now());
         approvalLineMapper.update(approvalLine);
+        approvalMetricsService.recordDecision(approvalLine);
 
         // 6. 문서 상태를 REJECTED로 변경 (한 명이라도 반려하면 전체 반려)
         documentMapper.reject(approvalLine.getDocumentId());
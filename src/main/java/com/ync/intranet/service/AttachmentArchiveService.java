@@ -0,0 +1,148 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.AttachmentIntranet;
+import com.ync.intranet.mapper.AttachmentIntranetMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 첨부파일 ZIP 일괄 다운로드 서비스 (인트라넷)
+ *
+ * 저장 파일을 하나씩 읽어 응답 스트림의 ZIP 항목으로 바로 기록합니다.
+ * 임시 ZIP 파일을 만들거나 전체를 메모리에 올리지 않습니다.
+ */
+@Service
+public class AttachmentArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentArchiveService.class);
+
+    // 기간 다운로드 최대 일수
+    public static final int MAX_PERIOD_DAYS = 366;
+
+    // 이미 압축된 형식은 다시 압축하지 않음 (CPU 절약)
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "jpg", "jpeg", "png", "gif", "pdf", "zip", "docx", "xlsx", "pptx"
+    );
+
+    private final AttachmentIntranetMapper attachmentMapper;
+
+    public AttachmentArchiveService(AttachmentIntranetMapper attachmentMapper) {
+        this.attachmentMapper = attachmentMapper;
+    }
+
+    /**
+     * 기간 내 상신된 문서의 첨부파일 목록
+     * @param fromDate 시작일 (포함)
+     * @param toDate 종료일 (포함)
+     * @param documentType 문서 유형 (null이면 전체)
+     */
+    public List<AttachmentIntranet> getAttachmentsForPeriod(LocalDate fromDate, LocalDate toDate, String documentType) {
+        if (toDate.isBefore(fromDate)) {
+            throw new RuntimeException("종료일이 시작일보다 빠릅니다");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_PERIOD_DAYS) {
+            throw new RuntimeException("기간은 최대 " + MAX_PERIOD_DAYS + "일까지 조회할 수 있습니다");
+        }
+
+        return attachmentMapper.findBySubmittedPeriod(fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay(), documentType);
+    }
+
+    /**
+     * 첨부파일을 ZIP으로 기록
+     * @param attachments 첨부파일 목록
+     * @param groupByDocument true이면 문서별 폴더({문서ID}_{제목}/)로 묶음
+     * @param out 응답 스트림 (닫지 않음)
+     */
+    public void writeZip(List<AttachmentIntranet> attachments, boolean groupByDocument, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Set<String> entryNames = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+
+        for (AttachmentIntranet attachment : attachments) {
+            String originalName = getOriginalFileName(attachment.getFileName());
+            Path file = Paths.get(attachment.getFilePath());
+            if (!Files.isReadable(file)) {
+                missing.add(attachment.getDocumentId() + " / " + originalName);
+                continue;
+            }
+
+            String folder = groupByDocument
+                    ? sanitize(attachment.getDocumentId() + "_" + (attachment.getDocumentTitle() != null ? attachment.getDocumentTitle() : "")) + "/"
+                    : "";
+            String entryName = uniqueName(entryNames, folder, sanitize(originalName));
+
+            zip.setLevel(COMPRESSED_EXTENSIONS.contains(getExtension(originalName))
+                    ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+
+            ZipEntry entry = new ZipEntry(entryName);
+            entry.setTime(Files.getLastModifiedTime(file).toMillis());
+            zip.putNextEntry(entry);
+            Files.copy(file, zip);
+            zip.closeEntry();
+        }
+
+        // 저장 파일이 없는 첨부파일 목록
+        if (!missing.isEmpty()) {
+            log.warn("ZIP 다운로드 중 파일 누락 {}건", missing.size());
+            zip.putNextEntry(new ZipEntry(uniqueName(entryNames, "", "누락된_첨부파일.txt")));
+            zip.write(String.join(System.lineSeparator(), missing).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        // 중앙 디렉토리만 기록하고 응답 스트림은 컨테이너가 닫음
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * 같은 이름이 있으면 "이름 (2).확장자" 형식으로 변경
+     */
+    static String uniqueName(Set<String> entryNames, String folder, String fileName) {
+        String name = folder + fileName;
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        for (int i = 2; !entryNames.add(name); i++) {
+            name = folder + base + " (" + i + ")" + extension;
+        }
+        return name;
+    }
+
+    /**
+     * 저장 파일명(UUID_원본파일명)에서 원본 파일명 추출
+     */
+    private static String getOriginalFileName(String fileName) {
+        int index = fileName.indexOf('_');
+        return (index == 36) ? fileName.substring(index + 1) : fileName;
+    }
+
+    /**
+     * ZIP 항목 이름에 사용할 수 없는 문자 치환
+     */
+    static String sanitize(String name) {
+        String sanitized = name.replaceAll("[\\\\/:*?\"<>|\\r\\n]", "_").trim();
+        return sanitized.isEmpty() ? "_" : sanitized;
+    }
+
+    private static String getExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 ? fileName.substring(dot + 1).toLowerCase() : "";
+    }
+}
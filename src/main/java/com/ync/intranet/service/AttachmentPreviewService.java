@@ -0,0 +1,256 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.AttachmentIntranet;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 첨부파일 미리보기 생성 서비스 (인트라넷)
+ *
+ * 이미지와 PDF(첫 페이지) 첨부파일의 축소 이미지를 백그라운드에서 생성해
+ * 원본 파일 옆에 {원본경로}.thumb.jpg / {원본경로}.preview.jpg 로 저장합니다.
+ * 결재 화면은 원본(수 MB) 대신 이 파일(수십 KB)을 내려받아 표시합니다.
+ * - 같은 내용의 첨부파일은 저장 파일을 공유하므로 미리보기도 한 번만 생성됩니다.
+ */
+@Service
+public class AttachmentPreviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentPreviewService.class);
+
+    public static final String SIZE_THUMB = "thumb";
+    public static final String SIZE_PREVIEW = "preview";
+
+    // 목록용 썸네일 / 모달용 미리보기 최대 가로·세로 크기 (px)
+    private static final int THUMB_MAX = 240;
+    private static final int PREVIEW_MAX = 1024;
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private static final List<String> IMAGE_EXTENSIONS = List.of("jpg", "jpeg", "png", "gif");
+
+    // 이미지 디코딩/PDF 렌더링은 CPU와 메모리를 많이 쓰므로 작업 스레드 수를 제한
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "attachment-preview");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 생성 중인 원본 경로 (중복 요청 방지)
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 미리보기 생성 가능한 파일인지 여부 (이미지, PDF)
+     */
+    public static boolean isSupported(String fileName) {
+        String extension = getExtension(fileName);
+        return IMAGE_EXTENSIONS.contains(extension) || "pdf".equals(extension);
+    }
+
+    /**
+     * 미리보기 생성 요청 (이미 있거나 생성 중이면 무시)
+     */
+    public void requestGeneration(AttachmentIntranet attachment) {
+        if (attachment == null || !isSupported(attachment.getFileName())) {
+            return;
+        }
+
+        String filePath = attachment.getFilePath();
+        if (Files.exists(previewPath(filePath, SIZE_THUMB)) || !inProgress.add(filePath)) {
+            return;
+        }
+
+        String extension = getExtension(attachment.getFileName());
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(Paths.get(filePath), extension);
+                } catch (Exception e) {
+                    log.warn("첨부파일 미리보기 생성 실패: {} ({})", attachment.getFileName(), e.getMessage());
+                } finally {
+                    inProgress.remove(filePath);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inProgress.remove(filePath);
+        }
+    }
+
+    /**
+     * 생성된 미리보기 파일 (없으면 null)
+     * @param size thumb 또는 preview
+     */
+    public Path getPreviewFile(AttachmentIntranet attachment, String size) {
+        Path path = previewPath(attachment.getFilePath(), SIZE_THUMB.equals(size) ? SIZE_THUMB : SIZE_PREVIEW);
+        return Files.isReadable(path) ? path : null;
+    }
+
+    /**
+     * 원본 파일의 미리보기 삭제 (원본 삭제 시)
+     */
+    public void deletePreviews(Path originalFile) {
+        for (String size : List.of(SIZE_THUMB, SIZE_PREVIEW)) {
+            try {
+                Files.deleteIfExists(previewPath(originalFile.toString(), size));
+            } catch (IOException e) {
+                log.warn("첨부파일 미리보기 삭제 실패: {}", originalFile, e);
+            }
+        }
+    }
+
+    static Path previewPath(String originalPath, String size) {
+        return Paths.get(originalPath + "." + size + ".jpg");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(Path source, String extension) throws IOException {
+        if (!Files.isReadable(source)) {
+            return;
+        }
+
+        BufferedImage image = "pdf".equals(extension) ? renderFirstPage(source) : readImage(source);
+        if (image == null) {
+            log.debug("미리보기를 만들 수 없는 파일: {}", source);
+            return;
+        }
+
+        // 큰 미리보기를 먼저 만들고 썸네일은 그것을 다시 축소
+        BufferedImage preview = scale(image, PREVIEW_MAX);
+        writeJpeg(preview, previewPath(source.toString(), SIZE_PREVIEW));
+        writeJpeg(scale(preview, THUMB_MAX), previewPath(source.toString(), SIZE_THUMB));
+    }
+
+    /**
+     * 이미지 읽기 - 큰 이미지는 서브샘플링으로 읽어 전체 해상도를 메모리에 올리지 않음
+     */
+    private BufferedImage readImage(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / PREVIEW_MAX);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * PDF 첫 페이지 렌더링 (미리보기 크기에 맞는 배율로)
+     */
+    private BufferedImage renderFirstPage(Path source) throws IOException {
+        try (PDDocument document = Loader.loadPDF(source.toFile())) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle box = document.getPage(0).getCropBox();
+            float longest = Math.max(box.getWidth(), box.getHeight());
+            float scale = longest > 0 ? Math.min(2f, PREVIEW_MAX / longest) : 1f;
+            return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxSize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        // JPEG은 투명도를 지원하지 않으므로 흰 배경의 RGB로 변환
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * JPEG 저장 - 임시 파일에 쓴 뒤 이동하여 작성 중인 파일이 응답되지 않도록 함
+     */
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "preview-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String getExtension(String fileName) {
+        if (fileName == null || !fileName.contains(".")) {
+            return "";
+        }
+        return fileName.substring(fileName.lastIndexOf(".") + 1).toLowerCase();
+    }
+}
@@ -2,31 +2,56 @@ package com.ync.intranet.service;
 
 import com.ync.intranet.domain.AttachmentIntranet;
 import com.ync.intranet.mapper.AttachmentIntranetMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * 첨부파일 서비스 (인트라넷)
+ *
+ * 파일은 내용 SHA-256 해시 기준으로 {저장 디렉토리}/blobs/ab/cd/{hash} 에 한 번만 저장하고,
+ * attachment_blobs_intranet.ref_count 로 참조하는 첨부파일 수를 관리합니다.
+ * 첨부파일을 삭제하면 참조 수만 줄이고, 참조가 없는 blob 행과 물리 파일은 저장소 정리 작업
+ * (AttachmentStorageGcService, intranet.attachment.gc.* 일정)이 행을 잠근 뒤 회수합니다.
+ * 정리 작업을 끄면(intranet.attachment.gc.enabled=false) 삭제된 첨부파일의 파일은 회수되지 않습니다.
  */
 @Service
 @Transactional(readOnly = true)
 public class AttachmentService {
 
+    private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+
     private final AttachmentIntranetMapper attachmentMapper;
+    private final AttachmentPreviewService previewService;
 
-    // 파일 업로드 디렉토리 (실제 환경에 맞게 수정 필요)
-    private static final String UPLOAD_DIR = "C:/uploads/intranet";
+    // 파일 저장 디렉토리 (intranet.attachment.storage-dir)
+    private final Path storageRoot;
+    private final Path blobRoot;
+    private final Path tempRoot;
 
     // 허용된 파일 확장자
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
@@ -37,14 +62,18 @@ public class AttachmentService {
     // 최대 파일 크기 (10MB)
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
 
-    public AttachmentService(AttachmentIntranetMapper attachmentMapper) {
+    public AttachmentService(AttachmentIntranetMapper attachmentMapper,
+                             AttachmentPreviewService previewService,
+                             @Value("${intranet.attachment.storage-dir:C:/uploads/intranet}") String storageDir) {
         this.attachmentMapper = attachmentMapper;
-
-        // 업로드 디렉토리 생성
-        File uploadDir = new File(UPLOAD_DIR);
-        if (!uploadDir.exists()) {
-            uploadDir.mkdirs();
-        }
+        this.previewService = previewService;
+        this.storageRoot = Paths.get(storageDir);
+        this.blobRoot = storageRoot.resolve("blobs");
+        this.tempRoot = storageRoot.resolve("tmp");
+
+        // 저장 디렉토리 생성
+        blobRoot.toFile().mkdirs();
+        tempRoot.toFile().mkdirs();
     }
 
     /**
@@ -59,44 +88,201 @@ public class AttachmentService {
         // 1. 파일 검증
         validateFile(file);
 
-        // 2. 저장 파일명 생성 (UUID + 원본 파일명)
+        // 2. 표시 파일명 생성 (UUID + 원본 파일명)
         String originalFilename = file.getOriginalFilename();
         String fileName = UUID.randomUUID().toString() + "_" + originalFilename;
-        String filePath = UPLOAD_DIR + File.separator + fileName;
 
         // 3. Content-Type 처리 (null이면 기본값 설정)
-        String contentType = file.getContentType();
-        if (contentType == null || contentType.isEmpty()) {
-            // 확장자 기반으로 Content-Type 설정
-            String extension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1).toLowerCase();
-            if (extension.equals("xlsx")) {
-                contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-            } else if (extension.equals("xls")) {
-                contentType = "application/vnd.ms-excel";
-            } else {
-                contentType = "application/octet-stream";
-            }
-        }
+        String contentType = resolveContentType(file.getContentType(), originalFilename);
 
-        // 4. 파일 저장
-        File destFile = new File(filePath);
-        file.transferTo(destFile);
+        // 4. 파일 저장 (해시 계산하며 저장, 같은 내용이 있으면 참조만 증가)
+        StoredBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = storeBlob(in);
+        }
 
         // 5. DB에 메타데이터 저장
         AttachmentIntranet attachment = AttachmentIntranet.builder()
                 .documentId(documentId)
                 .fileName(fileName)
-                .filePath(filePath)
-                .fileSize(file.getSize())
+                .filePath(blob.filePath)
+                .fileSize(blob.fileSize)
                 .fileType(contentType)
                 .uploadedBy(userId)
+                .contentHash(blob.contentHash)
                 .build();
 
         attachmentMapper.insert(attachment);
 
+        // 미리보기는 커밋 이후 백그라운드에서 생성
+        afterCommit(() -> previewService.requestGeneration(attachment));
+
         return attachment;
     }
 
+    /**
+     * 분할 업로드 완료된 임시 파일을 첨부파일로 등록
+     * @param tempFile 모든 조각이 기록된 임시 파일
+     * @param originalFilename 원본 파일명
+     * @param contentType Content-Type (null이면 확장자 기반)
+     * @param expectedHash 클라이언트가 계산한 SHA-256 (hex, 선택)
+     * @return 저장된 첨부파일 정보
+     */
+    @Transactional
+    public AttachmentIntranet registerUploadedFile(Path tempFile, String originalFilename, String contentType,
+                                                   String expectedHash, Long documentId, Long userId) throws IOException {
+        validateFileName(originalFilename);
+
+        // 최종 체크섬 확인 (파일을 한 번 순차로 읽어 계산)
+        MessageDigest digest = newDigest();
+        long size;
+        try (InputStream in = new DigestInputStream(Files.newInputStream(tempFile), digest)) {
+            size = in.transferTo(OutputStream.nullOutputStream());
+        }
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        if (expectedHash != null && !expectedHash.isEmpty() && !expectedHash.equalsIgnoreCase(contentHash)) {
+            throw new RuntimeException("파일 체크섬이 일치하지 않습니다");
+        }
+
+        StoredBlob blob = registerBlob(tempFile, contentHash, size);
+
+        AttachmentIntranet attachment = AttachmentIntranet.builder()
+                .documentId(documentId)
+                .fileName(UUID.randomUUID().toString() + "_" + originalFilename)
+                .filePath(blob.filePath)
+                .fileSize(blob.fileSize)
+                .fileType(resolveContentType(contentType, originalFilename))
+                .uploadedBy(userId)
+                .contentHash(blob.contentHash)
+                .build();
+
+        attachmentMapper.insert(attachment);
+
+        // 미리보기는 커밋 이후 백그라운드에서 생성
+        afterCommit(() -> previewService.requestGeneration(attachment));
+
+        return attachment;
+    }
+
+    /**
+     * 스트림을 임시 파일로 저장하면서 SHA-256 계산 후 해시 경로에 등록
+     * @param in 업로드 스트림
+     * @return 저장 파일 정보
+     */
+    StoredBlob storeBlob(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(tempRoot, "upload-", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (InputStream digestIn = new DigestInputStream(in, digest)) {
+                size = Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return registerBlob(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 임시 파일을 해시 경로에 등록 (이미 같은 내용이 있으면 참조를 증가)
+     *
+     * blob 행을 먼저 잠근 뒤(참조 증가 또는 등록) 임시 파일을 해시 경로에 기록합니다.
+     * 저장소 정리 작업도 같은 행을 잠근 뒤에만 파일을 삭제하므로, 트랜잭션이 끝날 때까지 기록한 파일이 지워지지 않습니다.
+     * @param source 내용이 모두 기록된 임시 파일
+     * @param contentHash 내용 SHA-256 (hex)
+     * @param fileSize 파일 크기
+     */
+    StoredBlob registerBlob(Path source, String contentHash, long fileSize) throws IOException {
+        Path target;
+        if (attachmentMapper.incrementBlobRef(contentHash) > 0) {
+            target = Paths.get(attachmentMapper.findBlobPath(contentHash));
+        } else {
+            target = blobPath(contentHash);
+            try {
+                attachmentMapper.insertBlob(contentHash, target.toString(), fileSize);
+            } catch (DuplicateKeyException e) {
+                // 같은 내용이 동시에 업로드된 경우
+                attachmentMapper.incrementBlobRef(contentHash);
+                target = Paths.get(attachmentMapper.findBlobPath(contentHash));
+            }
+        }
+
+        // 기존 파일이 있어도 이번 업로드 내용으로 교체 (정리 작업이 삭제 중이던 파일을 믿지 않음)
+        Files.createDirectories(target.getParent());
+        placeFile(source, target);
+        return new StoredBlob(contentHash, target.toString(), fileSize);
+    }
+
+    /**
+     * 해시 기반 저장 경로 (blobs/ab/cd/{hash}) - 디렉토리당 파일 수 제한
+     */
+    Path blobPath(String contentHash) {
+        return blobRoot.resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash);
+    }
+
+    Path getStorageRoot() {
+        return storageRoot;
+    }
+
+    Path getBlobRoot() {
+        return blobRoot;
+    }
+
+    Path getTempRoot() {
+        return tempRoot;
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+
+    private static void moveFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 임시 파일을 blob 경로로 이동 (같은 내용의 기존 파일은 교체)
+     * - 다른 요청이 읽고 있어 교체할 수 없으면(Windows) 기존 파일을 사용 - 해시 경로이므로 내용이 같고,
+     *   blob 행을 잠그고 있어 정리 작업이 삭제할 수 없음
+     */
+    private static void placeFile(Path source, Path target) throws IOException {
+        try {
+            moveFile(source, target);
+        } catch (IOException e) {
+            if (!Files.isRegularFile(target) || Files.size(target) != Files.size(source)) {
+                throw e;
+            }
+            log.debug("blob 파일 교체 실패, 기존 파일 사용: {} ({})", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Content-Type 결정 (null이면 확장자 기반 기본값)
+     */
+    String resolveContentType(String contentType, String originalFilename) {
+        if (contentType != null && !contentType.isEmpty()) {
+            return contentType;
+        }
+
+        String extension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1).toLowerCase();
+        if (extension.equals("xlsx")) {
+            return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+        } else if (extension.equals("xls")) {
+            return "application/vnd.ms-excel";
+        }
+        return "application/octet-stream";
+    }
+
     /**
      * 파일 다운로드 (Resource 반환)
      * @param attachmentId 첨부파일 ID
@@ -146,14 +332,11 @@ public class AttachmentService {
         AttachmentIntranet attachment = attachmentMapper.findById(attachmentId);
 
         if (attachment != null) {
-            // 1. 물리 파일 삭제
-            File file = new File(attachment.getFilePath());
-            if (file.exists()) {
-                file.delete();
-            }
-
-            // 2. DB 레코드 삭제
+            // 1. DB 레코드 삭제
             attachmentMapper.deleteById(attachmentId);
+
+            // 2. 저장 파일 참조 해제
+            releaseFile(attachment);
         }
     }
 
@@ -165,16 +348,91 @@ public class AttachmentService {
     public void deleteAttachmentsByDocumentId(Long documentId) {
         List<AttachmentIntranet> attachments = attachmentMapper.findByDocumentId(documentId);
 
+        // DB 레코드 삭제
+        attachmentMapper.deleteByDocumentId(documentId);
+
+        // 저장 파일 참조 해제
         for (AttachmentIntranet attachment : attachments) {
-            // 물리 파일 삭제
-            File file = new File(attachment.getFilePath());
-            if (file.exists()) {
-                file.delete();
-            }
+            releaseFile(attachment);
         }
+    }
 
-        // DB 레코드 삭제
-        attachmentMapper.deleteByDocumentId(documentId);
+    /**
+     * 저장 파일 참조 해제
+     * - 참조가 0이 되어도 blob 행과 물리 파일은 남겨 두고(같은 내용 재업로드 시 재사용),
+     *   저장소 정리 작업이 행을 잠근 뒤 삭제 (deleteUnreferencedBlob)
+     */
+    private void releaseFile(AttachmentIntranet attachment) {
+        String contentHash = attachment.getContentHash();
+        if (contentHash == null) {
+            // 이전 방식(UUID_파일명)으로 저장된 파일 - 공유되지 않으므로 커밋 이후 바로 삭제
+            Path legacyFile = Paths.get(attachment.getFilePath());
+            afterCommit(() -> deleteStoredFile(legacyFile));
+            return;
+        }
+
+        attachmentMapper.decrementBlobRef(contentHash);
+    }
+
+    /**
+     * 참조하는 첨부파일이 없는 blob 행과 물리 파일 삭제 (저장소 정리용)
+     * - blob 행을 잠근 뒤 삭제하므로 같은 내용의 업로드(참조 증가/등록)는 삭제가 커밋될 때까지 대기했다가 파일을 다시 기록
+     * @return 삭제했으면 true
+     */
+    @Transactional
+    public boolean deleteUnreferencedBlob(String contentHash) {
+        String filePath = attachmentMapper.lockUnreferencedBlob(contentHash);
+        if (filePath == null) {
+            return false;
+        }
+        attachmentMapper.deleteBlobIfUnreferenced(contentHash);
+        deleteStoredFile(Paths.get(filePath));
+        return true;
+    }
+
+    /**
+     * DB에 행이 없는 blob 파일 삭제 (저장소 정리용)
+     * - 참조 0인 행을 먼저 등록해 해시를 선점한 뒤 삭제하므로, 같은 내용을 동시에 등록하는 업로드는 삭제가 커밋될 때까지 대기
+     * @return 삭제했으면 true (그 사이 등록된 blob이면 false)
+     */
+    @Transactional
+    public boolean deleteOrphanBlobFile(String contentHash, Path file) {
+        try {
+            attachmentMapper.insertBlobClaim(contentHash, file.toString());
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        deleteStoredFile(file);
+        attachmentMapper.deleteBlobIfUnreferenced(contentHash);
+        return true;
+    }
+
+    /**
+     * 저장 파일과 미리보기 삭제 (실패 시 정리 작업이 다시 처리)
+     */
+    void deleteStoredFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("첨부파일 삭제 실패: {}", file, e);
+        }
+        previewService.deletePreviews(file);
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 실행 (롤백 시 파일 유지)
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
@@ -193,7 +451,14 @@ public class AttachmentService {
         }
 
         // 3. 파일 확장자 확인
-        String originalFilename = file.getOriginalFilename();
+        validateFileName(file.getOriginalFilename());
+    }
+
+    /**
+     * 파일명/확장자 검증
+     * @param originalFilename 원본 파일명
+     */
+    void validateFileName(String originalFilename) {
         if (originalFilename == null || !originalFilename.contains(".")) {
             throw new RuntimeException("올바르지 않은 파일명입니다");
         }
@@ -218,4 +483,19 @@ public class AttachmentService {
         }
         return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
     }
+
+    /**
+     * 저장 파일 정보
+     */
+    static final class StoredBlob {
+        final String contentHash;
+        final String filePath;
+        final long fileSize;
+
+        StoredBlob(String contentHash, String filePath, long fileSize) {
+            this.contentHash = contentHash;
+            this.filePath = filePath;
+            this.fileSize = fileSize;
+        }
+    }
 }
@@ -0,0 +1,378 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.AttachmentIntranet;
+import com.ync.intranet.mapper.AttachmentIntranetMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 첨부파일 저장소 정리 서비스 (인트라넷)
+ *
+ * 저장 디렉토리와 attachments_intranet / attachment_blobs_intranet 를 배치 단위로 대조해
+ * 어긋난 부분을 정리합니다.
+ * - 참조 수 보정: blob의 ref_count를 실제 첨부파일 수로 맞추고, 참조가 없으면 행을 잠근 뒤 행과 파일 삭제
+ *   (첨부파일 삭제 시에는 참조 수만 줄이고 blob 행과 파일은 이 작업에서만 삭제)
+ * - 고아 파일: DB에 없는 blob/이전 방식 파일, 끝난 업로드의 임시 파일, 원본이 없는 미리보기 삭제
+ * - 유실 파일: 저장 파일이 없는 첨부파일 행은 삭제하지 않고 로그로만 보고
+ * 업로드 진행 중인 파일을 지우지 않도록 수정 시각이 유예 기간보다 오래된 파일만 삭제합니다.
+ */
+@Service
+public class AttachmentStorageGcService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentStorageGcService.class);
+
+    // IN 절 최대 1000건
+    private static final int MAX_IN_LIST = 1000;
+
+    // 유실 파일 보고 시 로그에 남길 최대 ID 수
+    private static final int MAX_REPORTED_IDS = 20;
+
+    private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern LEGACY_NAME = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+");
+    private static final String[] PREVIEW_SUFFIXES = {
+            "." + AttachmentPreviewService.SIZE_THUMB + ".jpg",
+            "." + AttachmentPreviewService.SIZE_PREVIEW + ".jpg"
+    };
+
+    private final AttachmentIntranetMapper attachmentMapper;
+    private final AttachmentService attachmentService;
+    private final ChunkedUploadService chunkedUploadService;
+
+    public AttachmentStorageGcService(AttachmentIntranetMapper attachmentMapper,
+                                      AttachmentService attachmentService,
+                                      ChunkedUploadService chunkedUploadService) {
+        this.attachmentMapper = attachmentMapper;
+        this.attachmentService = attachmentService;
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    /**
+     * 저장소 정리 실행
+     * @param gracePeriod 이 기간보다 오래된 파일/행만 삭제
+     * @param batchSize 한 번에 조회/대조할 건수 (최대 1000)
+     * @param batchPauseMs 배치 사이 대기 시간
+     * @return 정리 결과
+     */
+    public GcResult collect(Duration gracePeriod, int batchSize, long batchPauseMs) throws IOException {
+        int limit = Math.max(1, Math.min(batchSize, MAX_IN_LIST));
+        Instant threshold = Instant.now().minus(gracePeriod);
+        GcResult result = new GcResult();
+
+        reconcileBlobRows(threshold, limit, batchPauseMs, result);
+        sweepBlobFiles(threshold, limit, result);
+        sweepLegacyFiles(threshold, limit, result);
+        sweepTempFiles(threshold, result);
+        reportMissingFiles(limit, batchPauseMs, result);
+
+        return result;
+    }
+
+    /**
+     * blob 행의 참조 수 보정 (문서 삭제 FK CASCADE 등으로 참조 수가 어긋난 경우)
+     */
+    private void reconcileBlobRows(Instant threshold, int limit, long pauseMs, GcResult result) {
+        LocalDateTime createdBefore = LocalDateTime.ofInstant(threshold, ZoneId.systemDefault());
+        String afterHash = null;
+        while (true) {
+            List<Map<String, Object>> rows = attachmentMapper.findBlobPage(afterHash, createdBefore, limit);
+            for (Map<String, Object> row : rows) {
+                String contentHash = (String) row.get("CONTENT_HASH");
+                long refCount = ((Number) row.get("REF_COUNT")).longValue();
+                long actualCount = ((Number) row.get("ACTUAL_COUNT")).longValue();
+                boolean expired = ((Number) row.get("EXPIRED")).intValue() == 1;
+                Path file = Paths.get((String) row.get("FILE_PATH"));
+
+                if (actualCount == 0) {
+                    // 참조가 해제된 blob - 유예 기간 이후 행을 잠근 뒤 행과 파일 삭제
+                    if (expired && attachmentService.deleteUnreferencedBlob(contentHash)) {
+                        result.unreferencedBlobs++;
+                    }
+                } else {
+                    if (refCount != actualCount && attachmentMapper.syncBlobRefCount(contentHash) > 0) {
+                        result.correctedRefCounts++;
+                    }
+                    if (!Files.exists(file)) {
+                        log.warn("저장 파일(blob) 유실: {} ({})", contentHash, file);
+                        result.missingBlobFiles++;
+                    }
+                }
+                afterHash = contentHash;
+            }
+
+            if (rows.size() < limit) {
+                return;
+            }
+            pause(pauseMs);
+        }
+    }
+
+    /**
+     * blobs/ 아래 DB에 없는 파일 삭제
+     */
+    private void sweepBlobFiles(Instant threshold, int limit, GcResult result) throws IOException {
+        Path blobRoot = attachmentService.getBlobRoot();
+        if (!Files.isDirectory(blobRoot)) {
+            return;
+        }
+
+        List<Path> batch = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(blobRoot)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String name = file.getFileName().toString();
+                if (isPreview(name)) {
+                    deleteOrphanPreview(file, threshold, result);
+                } else if (!BLOB_NAME.matcher(name).matches()) {
+                    // 미리보기 생성 중단 등으로 남은 임시 파일
+                    if (isOlderThan(file, threshold)) {
+                        deleteFile(file, result);
+                    }
+                } else if (isOlderThan(file, threshold)) {
+                    batch.add(file);
+                    if (batch.size() >= limit) {
+                        deleteUnknownBlobs(batch, result);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        deleteUnknownBlobs(batch, result);
+    }
+
+    private void deleteUnknownBlobs(List<Path> files, GcResult result) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = new ArrayList<>();
+        for (Path file : files) {
+            hashes.add(file.getFileName().toString());
+        }
+        Set<String> existing = new HashSet<>(attachmentMapper.findExistingBlobHashes(hashes));
+
+        for (Path file : files) {
+            String contentHash = file.getFileName().toString();
+            if (!existing.contains(contentHash) && attachmentService.deleteOrphanBlobFile(contentHash, file)) {
+                result.orphanFiles++;
+            }
+        }
+    }
+
+    /**
+     * 저장 디렉토리 바로 아래 이전 방식(UUID_파일명) 파일 중 DB에 없는 파일 삭제
+     * - 원본 파일명이 미리보기 접미사(.thumb.jpg 등)로 끝날 수 있으므로 미리보기 형태의 이름도 먼저 DB에서 확인
+     */
+    private void sweepLegacyFiles(Instant threshold, int limit, GcResult result) throws IOException {
+        Path storageRoot = attachmentService.getStorageRoot();
+        if (!Files.isDirectory(storageRoot)) {
+            return;
+        }
+
+        List<Path> batch = new ArrayList<>();
+        try (Stream<Path> files = Files.list(storageRoot)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String name = file.getFileName().toString();
+                if (LEGACY_NAME.matcher(name).matches() && isOlderThan(file, threshold)) {
+                    batch.add(file);
+                    if (batch.size() >= limit) {
+                        deleteUnknownLegacyFiles(batch, result);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        deleteUnknownLegacyFiles(batch, result);
+    }
+
+    private void deleteUnknownLegacyFiles(List<Path> files, GcResult result) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        List<String> fileNames = new ArrayList<>();
+        for (Path file : files) {
+            fileNames.add(file.getFileName().toString());
+        }
+        Set<String> existing = new HashSet<>(attachmentMapper.findExistingLegacyFileNames(fileNames));
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (existing.contains(name)) {
+                continue;
+            }
+
+            String originalName = stripPreviewSuffix(name);
+            if (originalName != null && LEGACY_NAME.matcher(originalName).matches()) {
+                // 이전 방식 첨부파일의 미리보기 - 원본이 없을 때만 삭제
+                if (!Files.exists(file.resolveSibling(originalName))) {
+                    deleteFile(file, result);
+                }
+            } else {
+                attachmentService.deleteStoredFile(file);
+                result.orphanFiles++;
+            }
+        }
+    }
+
+    /**
+     * tmp/ 아래 진행 중이 아닌 오래된 임시 파일 삭제
+     */
+    private void sweepTempFiles(Instant threshold, GcResult result) throws IOException {
+        Path tempRoot = attachmentService.getTempRoot();
+        if (!Files.isDirectory(tempRoot)) {
+            return;
+        }
+
+        Set<Path> active = chunkedUploadService.getActiveTempFiles();
+        try (Stream<Path> files = Files.list(tempRoot)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                if (!active.contains(file) && isOlderThan(file, threshold)) {
+                    deleteFile(file, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * 저장 파일이 없는 첨부파일 행 보고 (다운로드 시 404가 되는 행)
+     */
+    private void reportMissingFiles(int limit, long pauseMs, GcResult result) {
+        List<Long> sampleIds = new ArrayList<>();
+        Long afterId = null;
+        while (true) {
+            List<AttachmentIntranet> rows = attachmentMapper.findPageAfterId(afterId, limit);
+            for (AttachmentIntranet attachment : rows) {
+                if (attachment.getFilePath() == null || !Files.exists(Paths.get(attachment.getFilePath()))) {
+                    result.danglingRows++;
+                    if (sampleIds.size() < MAX_REPORTED_IDS) {
+                        sampleIds.add(attachment.getId());
+                    }
+                }
+                afterId = attachment.getId();
+            }
+
+            if (rows.size() < limit) {
+                break;
+            }
+            pause(pauseMs);
+        }
+
+        if (result.danglingRows > 0) {
+            log.warn("저장 파일이 없는 첨부파일 {}건 (ID 예: {})", result.danglingRows, sampleIds);
+        }
+    }
+
+    private void deleteOrphanPreview(Path preview, Instant threshold, GcResult result) {
+        String originalName = stripPreviewSuffix(preview.getFileName().toString());
+        if (originalName != null && !Files.exists(preview.resolveSibling(originalName)) && isOlderThan(preview, threshold)) {
+            deleteFile(preview, result);
+        }
+    }
+
+    private static boolean isPreview(String name) {
+        return stripPreviewSuffix(name) != null;
+    }
+
+    /**
+     * 미리보기 파일명에서 원본 파일명 추출 (미리보기 접미사가 없으면 null)
+     */
+    private static String stripPreviewSuffix(String name) {
+        for (String suffix : PREVIEW_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                return name.substring(0, name.length() - suffix.length());
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOlderThan(Path file, Instant threshold) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(threshold);
+        } catch (IOException e) {
+            // 조회 중 삭제된 파일
+            return false;
+        }
+    }
+
+    private static void deleteFile(Path file, GcResult result) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                result.orphanFiles++;
+            }
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {}", file, e);
+        }
+    }
+
+    private static void pause(long pauseMs) {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 정리 결과
+     */
+    public static final class GcResult {
+        private int unreferencedBlobs;
+        private int correctedRefCounts;
+        private int orphanFiles;
+        private int missingBlobFiles;
+        private int danglingRows;
+
+        public int getUnreferencedBlobs() {
+            return unreferencedBlobs;
+        }
+
+        public int getCorrectedRefCounts() {
+            return correctedRefCounts;
+        }
+
+        public int getOrphanFiles() {
+            return orphanFiles;
+        }
+
+        public int getMissingBlobFiles() {
+            return missingBlobFiles;
+        }
+
+        public int getDanglingRows() {
+            return danglingRows;
+        }
+
+        @Override
+        public String toString() {
+            return "참조 없는 blob 삭제: " + unreferencedBlobs + "건, 참조 수 보정: " + correctedRefCounts
+                    + "건, 고아 파일 삭제: " + orphanFiles + "건, 유실 blob: " + missingBlobFiles
+                    + "건, 파일 없는 첨부파일: " + danglingRows + "건";
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.AttachmentIntranet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 첨부파일 분할 업로드 서비스 (인트라넷)
+ *
+ * 시작(init) → 조각 전송(offset 지정) → 완료(complete) 순서로 큰 파일을 업로드합니다.
+ * 조각은 요청 본문에서 임시 파일로 바로 기록하므로 힙에 파일 전체를 올리지 않으며,
+ * 중간에 끊기면 상태 조회로 받은 크기를 확인해 그 위치부터 다시 전송할 수 있습니다.
+ * - 업로드 세션은 프로세스 메모리에만 유지됩니다 (재기동 시 다시 시작).
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    // 권장 조각 크기 (5MB)
+    public static final int RECOMMENDED_CHUNK_SIZE = 5 * 1024 * 1024;
+
+    // 마지막 전송 후 이 시간이 지난 세션은 정리
+    private static final Duration SESSION_TTL = Duration.ofHours(24);
+
+    private final AttachmentService attachmentService;
+    private final Map<String, ChunkedUpload> uploads = new ConcurrentHashMap<>();
+
+    // 분할 업로드 최대 파일 크기 (기본 200MB)
+    @Value("${intranet.attachment.max-chunked-file-size:209715200}")
+    private long maxChunkedFileSize;
+
+    public ChunkedUploadService(AttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    /**
+     * 분할 업로드 시작
+     * @param documentId 문서 ID
+     * @param fileName 원본 파일명
+     * @param fileSize 전체 파일 크기
+     * @param contentType Content-Type (선택)
+     * @param userId 업로드 사용자 ID
+     * @return 업로드 세션
+     */
+    public ChunkedUpload init(Long documentId, String fileName, long fileSize, String contentType, Long userId) throws IOException {
+        attachmentService.validateFileName(fileName);
+        if (fileSize <= 0) {
+            throw new RuntimeException("파일이 비어있습니다");
+        }
+        if (fileSize > maxChunkedFileSize) {
+            throw new RuntimeException("파일 크기는 " + AttachmentService.formatFileSize(maxChunkedFileSize) + "를 초과할 수 없습니다");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path tempFile = attachmentService.getTempRoot().resolve("chunked-" + uploadId + ".part");
+        Files.createFile(tempFile);
+
+        ChunkedUpload upload = new ChunkedUpload(uploadId, documentId, fileName, fileSize, contentType, userId, tempFile);
+        uploads.put(uploadId, upload);
+        return upload;
+    }
+
+    /**
+     * 업로드 상태 조회 (이어받기용)
+     */
+    public ChunkedUpload getUpload(String uploadId, Long userId) {
+        ChunkedUpload upload = uploads.get(uploadId);
+        if (upload == null || !upload.userId.equals(userId)) {
+            throw new RuntimeException("업로드 정보를 찾을 수 없습니다: " + uploadId);
+        }
+        return upload;
+    }
+
+    /**
+     * 조각 기록 - offset 위치부터 본문을 임시 파일에 기록 (offset 이후 기존 데이터는 버림)
+     * @param offset 시작 위치 (현재까지 받은 크기 이하)
+     * @param in 요청 본문
+     * @return 현재까지 받은 크기
+     */
+    public long writeChunk(String uploadId, Long userId, long offset, InputStream in) throws IOException {
+        ChunkedUpload upload = getUpload(uploadId, userId);
+
+        synchronized (upload) {
+            if (offset < 0 || offset > upload.receivedBytes) {
+                throw new RuntimeException("잘못된 오프셋입니다 (받은 크기: " + upload.receivedBytes + ")");
+            }
+
+            long position = offset;
+            try (FileChannel channel = FileChannel.open(upload.tempFile, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+
+                ReadableByteChannel source = Channels.newChannel(in);
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    if (position + buffer.remaining() > upload.fileSize) {
+                        channel.truncate(offset);
+                        upload.receivedBytes = offset;
+                        throw new RuntimeException("선언한 파일 크기를 초과했습니다");
+                    }
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            upload.receivedBytes = position;
+            upload.lastAccessedAt = LocalDateTime.now();
+            return position;
+        }
+    }
+
+    /**
+     * 업로드 완료 - 크기/체크섬 확인 후 첨부파일 등록
+     * @param checksum 클라이언트가 계산한 SHA-256 (hex, 선택)
+     */
+    public AttachmentIntranet complete(String uploadId, Long userId, String checksum) throws IOException {
+        ChunkedUpload upload = getUpload(uploadId, userId);
+
+        synchronized (upload) {
+            if (upload.receivedBytes != upload.fileSize) {
+                throw new RuntimeException("아직 모든 조각을 받지 못했습니다 (" + upload.receivedBytes + "/" + upload.fileSize + ")");
+            }
+
+            try {
+                return attachmentService.registerUploadedFile(upload.tempFile, upload.fileName, upload.contentType,
+                        checksum, upload.documentId, upload.userId);
+            } finally {
+                remove(upload);
+            }
+        }
+    }
+
+    /**
+     * 업로드 취소
+     */
+    public void abort(String uploadId, Long userId) throws IOException {
+        ChunkedUpload upload = getUpload(uploadId, userId);
+        synchronized (upload) {
+            remove(upload);
+        }
+    }
+
+    /**
+     * 오래된 업로드 세션 정리 (1시간마다)
+     */
+    @Scheduled(fixedDelay = 60 * 60 * 1000L)
+    public void cleanupExpiredUploads() {
+        LocalDateTime threshold = LocalDateTime.now().minus(SESSION_TTL);
+        for (ChunkedUpload upload : uploads.values()) {
+            if (upload.lastAccessedAt.isBefore(threshold)) {
+                try {
+                    synchronized (upload) {
+                        remove(upload);
+                    }
+                    log.info("만료된 분할 업로드 정리: {} ({})", upload.uploadId, upload.fileName);
+                } catch (IOException e) {
+                    log.warn("분할 업로드 임시 파일 삭제 실패: {}", upload.tempFile, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 업로드의 임시 파일 (저장소 정리 대상에서 제외)
+     */
+    Set<Path> getActiveTempFiles() {
+        Set<Path> files = new HashSet<>();
+        for (ChunkedUpload upload : uploads.values()) {
+            files.add(upload.tempFile);
+        }
+        return files;
+    }
+
+    private void remove(ChunkedUpload upload) throws IOException {
+        uploads.remove(upload.uploadId);
+        Files.deleteIfExists(upload.tempFile);
+    }
+
+    /**
+     * 분할 업로드 세션
+     */
+    public static final class ChunkedUpload {
+        private final String uploadId;
+        private final Long documentId;
+        private final String fileName;
+        private final long fileSize;
+        private final String contentType;
+        private final Long userId;
+        private final Path tempFile;
+        private volatile long receivedBytes;
+        private volatile LocalDateTime lastAccessedAt = LocalDateTime.now();
+
+        ChunkedUpload(String uploadId, Long documentId, String fileName, long fileSize,
+                      String contentType, Long userId, Path tempFile) {
+            this.uploadId = uploadId;
+            this.documentId = documentId;
+            this.fileName = fileName;
+            this.fileSize = fileSize;
+            this.contentType = contentType;
+            this.userId = userId;
+            this.tempFile = tempFile;
+        }
+
+        public String getUploadId() {
+            return uploadId;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public long getReceivedBytes() {
+            return receivedBytes;
+        }
+    }
+}
@@ -9,8 +9,15 @@ import com.ync.intranet.mapper.MemberIntranetMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 문서 관리 서비스 (인트라넷)
@@ -19,19 +26,25 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class DocumentIntranetService {
 
+    // Oracle IN 절 최대 항목 수
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
     private final DocumentIntranetMapper documentMapper;
     private final ApprovalLineIntranetMapper approvalLineMapper;
     private final MemberIntranetMapper memberMapper;
     private final NotificationService notificationService;
+    private final AttachmentService attachmentService;
 
     public DocumentIntranetService(DocumentIntranetMapper documentMapper,
                                    ApprovalLineIntranetMapper approvalLineMapper,
                                    MemberIntranetMapper memberMapper,
-                                   NotificationService notificationService) {
+                                   NotificationService notificationService,
+                                   AttachmentService attachmentService) {
         this.documentMapper = documentMapper;
         this.approvalLineMapper = approvalLineMapper;
         this.memberMapper = memberMapper;
         this.notificationService = notificationService;
+        this.attachmentService = attachmentService;
     }
 
     /**
@@ -47,16 +60,40 @@ public class DocumentIntranetService {
         return document;
     }
 
+    /**
+     * 문서 본문 길이 조회 (문자 수)
+     * @return 문서가 없으면 null
+     */
+    public Long getContentLength(Long id) {
+        return documentMapper.getContentLength(id);
+    }
+
+    /**
+     * 문서 본문 스트리밍 (CLOB 전체를 메모리에 올리지 않고 한 번 조회한 CLOB을 Reader로 읽어 출력)
+     * CLOB Reader는 조회한 연결이 열려 있는 동안에만 읽을 수 있으므로 읽기 전용 트랜잭션 안에서 실행합니다.
+     * @param id 문서 ID
+     * @param writer 출력 대상
+     */
+    @Transactional(readOnly = true)
+    public void streamContent(Long id, Writer writer) throws IOException {
+        Reader reader = documentMapper.findContentReader(id);
+        if (reader == null) {
+            return;
+        }
+
+        try (reader) {
+            reader.transferTo(writer);
+        }
+        writer.flush();
+    }
+
     /**
      * 작성자별 문서 조회
      */
     public List<DocumentIntranet> findByAuthorId(Long authorId) {
         List<DocumentIntranet> documents = documentMapper.findByAuthorId(authorId);
-        // 각 문서의 결재선 정보도 함께 조회
-        for (DocumentIntranet document : documents) {
-            List<ApprovalLineIntranet> approvalLines = approvalLineMapper.findByDocumentId(document.getId());
-            document.setApprovalLines(approvalLines);
-        }
+        // 결재선 정보 일괄 조회
+        attachApprovalLines(documents);
         return documents;
     }
 
@@ -65,12 +102,51 @@ public class DocumentIntranetService {
      */
     public List<DocumentIntranet> findByAuthorIdAndStatus(Long authorId, String status) {
         List<DocumentIntranet> documents = documentMapper.findByAuthorIdAndStatus(authorId, status);
-        // 각 문서의 결재선 정보도 함께 조회
+        // 결재선 정보 일괄 조회
+        attachApprovalLines(documents);
+        return documents;
+    }
+
+    /**
+     * 작성자별 문서 페이지 조회 (상태 조건 선택)
+     * @param page 페이지 번호 (1부터)
+     * @param size 페이지 크기
+     */
+    public List<DocumentIntranet> findByAuthorIdPaged(Long authorId, String status, int page, int size) {
+        int offset = (Math.max(page, 1) - 1) * size;
+        List<DocumentIntranet> documents = documentMapper.findByAuthorIdPaged(authorId, status, offset, size);
+        attachApprovalLines(documents);
+        return documents;
+    }
+
+    /**
+     * 작성자별 문서 건수 (상태 조건 선택)
+     */
+    public int countByAuthorId(Long authorId, String status) {
+        return documentMapper.countByAuthorId(authorId, status);
+    }
+
+    /**
+     * 문서 목록의 결재선을 IN 조회로 한 번에 채움 (문서별 N회 조회 방지)
+     * Oracle IN 목록 제한(1000개)을 고려하여 나누어 조회
+     */
+    private void attachApprovalLines(List<DocumentIntranet> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<ApprovalLineIntranet>> linesByDocumentId = new HashMap<>();
+        List<Long> documentIds = documents.stream().map(DocumentIntranet::getId).collect(Collectors.toList());
+        for (int from = 0; from < documentIds.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = documentIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, documentIds.size()));
+            for (ApprovalLineIntranet line : approvalLineMapper.findByDocumentIds(chunk)) {
+                linesByDocumentId.computeIfAbsent(line.getDocumentId(), k -> new ArrayList<>()).add(line);
+            }
+        }
+
         for (DocumentIntranet document : documents) {
-            List<ApprovalLineIntranet> approvalLines = approvalLineMapper.findByDocumentId(document.getId());
-            document.setApprovalLines(approvalLines);
+            document.setApprovalLines(linesByDocumentId.getOrDefault(document.getId(), new ArrayList<>()));
         }
-        return documents;
     }
 
     /**
@@ -185,6 +261,8 @@ public class DocumentIntranetService {
             throw new RuntimeException("임시저장 상태의 문서만 삭제할 수 있습니다.");
         }
 
+        // 첨부파일 먼저 삭제 (FK CASCADE로 행만 지워지면 저장 파일 참조가 남음)
+        attachmentService.deleteAttachmentsByDocumentId(documentId);
         documentMapper.deleteById(documentId);
     }
 }
@@ -0,0 +1,227 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.MemberIntranet;
+import com.ync.intranet.dto.ExpenseExcelExportFilter;
+import com.ync.intranet.mapper.ExpenseItemIntranetMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 경비 엑셀 일괄 다운로드 서비스 (인트라넷)
+ *
+ * 멤버별 지출보고서 통합 문서를 작업 스레드에서 병렬로 임시 파일에 생성하고,
+ * 요청 스레드는 완료된 순서(멤버 이름순)대로 하나의 ZIP 응답에 이어 붙입니다.
+ * 작업 스레드 수는 메모리 예산 안에서 정해지며 모든 요청이 함께 사용합니다.
+ */
+@Service
+public class ExpenseExcelBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseExcelBatchService.class);
+
+    // 통합 문서 1개 생성 시 메모리 사용량 추정치 (템플릿 + 스트리밍 창)
+    private static final long WORKBOOK_MEMORY_BYTES = 32L * 1024 * 1024;
+
+    private final ExpenseExcelService expenseExcelService;
+    private final ExpenseItemIntranetMapper expenseItemMapper;
+    private final ExecutorService executor;
+
+    public ExpenseExcelBatchService(ExpenseExcelService expenseExcelService,
+                                    ExpenseItemIntranetMapper expenseItemMapper,
+                                    @Value("${intranet.expense.excel-export.parallelism:4}") int parallelism,
+                                    @Value("${intranet.expense.excel-export.memory-budget-mb:256}") long memoryBudgetMb) {
+        this.expenseExcelService = expenseExcelService;
+        this.expenseItemMapper = expenseItemMapper;
+
+        int threads = (int) Math.max(1, Math.min(parallelism, memoryBudgetMb * 1024 * 1024 / WORKBOOK_MEMORY_BYTES));
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "expense-excel-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("경비 엑셀 일괄 다운로드 작업 스레드: {}", threads);
+    }
+
+    /**
+     * 일괄 다운로드 대상 멤버 (조건에 맞는 지출 내역이 있는 멤버)
+     * @param filter 팀/본부, 월(필수), 검색어
+     */
+    public List<MemberIntranet> getMembersForExport(ExpenseExcelExportFilter filter) {
+        if (filter.getYearMonth() == null || filter.getYearMonth().isEmpty()) {
+            throw new RuntimeException("일괄 다운로드는 월을 지정해야 합니다");
+        }
+        try {
+            YearMonth.parse(filter.getYearMonth());
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("월 형식이 올바르지 않습니다 (YYYY-MM): " + filter.getYearMonth());
+        }
+        return expenseItemMapper.findMembersForExport(filter);
+    }
+
+    /**
+     * 멤버별 통합 문서를 ZIP으로 기록
+     * @param members 대상 멤버 (getMembersForExport 결과)
+     * @param filter 팀/본부, 월, 검색어 (memberId 는 멤버별로 설정)
+     * @param out 응답 스트림 (닫지 않음)
+     */
+    public void writeZip(List<MemberIntranet> members, ExpenseExcelExportFilter filter, OutputStream out) throws IOException {
+        writeZip(members, filter, out, null);
+    }
+
+    /**
+     * 멤버별 통합 문서를 ZIP으로 기록 (진행률 통지)
+     * @param progress 멤버 1명을 처리할 때마다 (처리한 멤버 수, 전체 멤버 수) 통지 (null 가능)
+     */
+    public void writeZip(List<MemberIntranet> members, ExpenseExcelExportFilter filter, OutputStream out,
+                         ExpenseExcelService.ProgressListener progress) throws IOException {
+        long startTime = System.currentTimeMillis();
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        List<Future<Path>> futures = new ArrayList<>();
+        for (MemberIntranet member : members) {
+            ExpenseExcelExportFilter memberFilter = copyFilter(filter, member.getId());
+            futures.add(executor.submit(() -> generate(memberFilter, aborted)));
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // xlsx 는 이미 압축된 형식이므로 다시 압축하지 않음
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        Set<String> entryNames = new HashSet<>();
+        List<String> failed = new ArrayList<>();
+
+        int written = 0;
+        try {
+            for (int i = 0; i < members.size(); i++) {
+                if (progress != null) {
+                    progress.onProgress(i, members.size());
+                }
+                MemberIntranet member = members.get(i);
+                Path file;
+                try {
+                    file = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    log.warn("경비 엑셀 생성 실패: {} ({})", member.getName(), e.getCause().getMessage());
+                    failed.add(member.getName() + " : " + e.getCause().getMessage());
+                    continue;
+                }
+
+                try {
+                    String fileName = "지출보고서_" + member.getName() + "_" + filter.getYearMonth() + ".xlsx";
+                    zip.putNextEntry(new ZipEntry(AttachmentArchiveService.uniqueName(entryNames, "",
+                            AttachmentArchiveService.sanitize(fileName))));
+                    Files.copy(file, zip);
+                    zip.closeEntry();
+                    written++;
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+
+            if (progress != null) {
+                progress.onProgress(members.size(), members.size());
+            }
+
+            // 생성에 실패한 멤버 목록
+            if (!failed.isEmpty()) {
+                zip.putNextEntry(new ZipEntry(AttachmentArchiveService.uniqueName(entryNames, "", "생성_실패_목록.txt")));
+                zip.write(String.join(System.lineSeparator(), failed).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+
+            // 중앙 디렉토리만 기록하고 응답 스트림은 컨테이너가 닫음
+            zip.finish();
+            zip.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("경비 엑셀 일괄 다운로드가 중단되었습니다", e);
+        } finally {
+            // 클라이언트 연결 종료 등으로 중단된 경우 남은 작업 취소 및 임시 파일 삭제
+            aborted.set(true);
+            for (Future<Path> future : futures) {
+                if (!future.cancel(true) && !future.isCancelled()) {
+                    deleteResult(future);
+                }
+            }
+        }
+
+        log.info("경비 엑셀 일괄 다운로드 완료: {}명 중 {}건, 실패 {}건, {}ms",
+                members.size(), written, failed.size(), System.currentTimeMillis() - startTime);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 멤버 1명의 통합 문서를 임시 파일로 생성
+     */
+    private Path generate(ExpenseExcelExportFilter filter, AtomicBoolean aborted) throws IOException {
+        if (aborted.get()) {
+            return null;
+        }
+
+        Path file = Files.createTempFile("expense-excel-", ".xlsx");
+        try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(file))) {
+            expenseExcelService.writeExcel(filter, fileOut);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        // 생성 중에 요청이 중단되었으면 결과를 가져갈 곳이 없으므로 삭제
+        if (aborted.get()) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * 완료된 작업의 임시 파일 삭제 (이미 ZIP에 기록한 파일은 삭제되어 있음)
+     */
+    private void deleteResult(Future<Path> future) {
+        try {
+            Path file = future.get();
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | IOException e) {
+            // 실패한 작업은 임시 파일을 남기지 않음
+        }
+    }
+
+    private static ExpenseExcelExportFilter copyFilter(ExpenseExcelExportFilter filter, Long memberId) {
+        ExpenseExcelExportFilter copy = new ExpenseExcelExportFilter();
+        copy.setMemberId(memberId);
+        copy.setDepartmentId(filter.getDepartmentId());
+        copy.setParentDepartmentId(filter.getParentDepartmentId());
+        copy.setYearMonth(filter.getYearMonth());
+        copy.setKeyword(filter.getKeyword());
+        return copy;
+    }
+}
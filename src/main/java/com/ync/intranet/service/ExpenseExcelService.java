@@ -1,19 +1,39 @@
 package com.ync.intranet.service;
 
+import com.ync.intranet.domain.DepartmentIntranet;
+import com.ync.intranet.domain.ExpenseItemIntranet;
+import com.ync.intranet.domain.MemberIntranet;
 import com.ync.intranet.dto.ExcelDownloadRequest;
+import com.ync.intranet.dto.ExpenseExcelExportFilter;
+import com.ync.intranet.mapper.DepartmentIntranetMapper;
+import com.ync.intranet.mapper.ExpenseItemIntranetMapper;
+import com.ync.intranet.mapper.MemberIntranetMapper;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service("expenseExcelIntranetService")
 public class ExpenseExcelService {
@@ -22,161 +42,438 @@ public class ExpenseExcelService {
 
     private static final String TEMPLATE_PATH = "template/expense_report_template.xlsx";
 
+    // 스트리밍 시 메모리에 유지할 행 수 (초과분은 임시 파일로 내보냄)
+    private static final int STREAM_WINDOW_ROWS = 200;
+
+    // 수식 안의 셀 범위 (예: F14:F112, $F$14:$F$112)
+    private static final Pattern DATA_RANGE_PATTERN = Pattern.compile("(\\$?[A-Z]{1,3}\\$?)(\\d+):(\\$?[A-Z]{1,3}\\$?)(\\d+)");
+
+    // 강제 컬럼 매핑 (하드코딩 우선순위)
+    private static final Map<String, Integer> FORCED_MAPPING = Map.of(
+        "usageDate", 2,        // C열: 사용일시
+        "description", 3,      // D열: 사용 내용
+        "account", 4,          // E열: 계정
+        "amount", 5,           // F열: 사용금액
+        "vendor", 6,           // G열: 업소명
+        "costCode", 7,         // H열: 경비코드
+        "projectCode", 8,      // I열: 프로젝트코드
+        "note", 9              // J열: 비고
+    );
+
+    // 영어-한글 매핑
+    private static final Map<String, List<String>> ALIASES = Map.of(
+        "memberName", List.of("Name", "이름", "사용자", "성명"),
+        "parentDeptName", List.of("Parent Department", "본부", "사업부서", "상위부서"),
+        "deptName", List.of("Department", "부서", "팀", "소속")
+    );
+
+    // 템플릿 레이아웃 (기동 시 1회 분석)
+    private final TemplateLayout layout;
+
+    private final ExpenseItemIntranetMapper expenseItemMapper;
+    private final MemberIntranetMapper memberMapper;
+    private final DepartmentIntranetMapper departmentMapper;
+
+    public ExpenseExcelService(ExpenseItemIntranetMapper expenseItemMapper,
+                               MemberIntranetMapper memberMapper,
+                               DepartmentIntranetMapper departmentMapper) {
+        this.expenseItemMapper = expenseItemMapper;
+        this.memberMapper = memberMapper;
+        this.departmentMapper = departmentMapper;
+        this.layout = loadTemplateLayout();
+    }
+
     /**
      * 템플릿 기반 엑셀 파일 생성
      */
     public byte[] generateExcel(ExcelDownloadRequest request) throws Exception {
-        log.info("Starting Excel generation for member: {}, dept: {}, month: {}",
-            request.getMember(), request.getDept(), request.getYearMonth());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeExcel(request, outputStream);
+        byte[] result = outputStream.toByteArray();
+        log.info("Excel file generated successfully, size: {} bytes", result.length);
+        return result;
+    }
 
-        // 템플릿 파일 로드
-        ClassPathResource resource = new ClassPathResource(TEMPLATE_PATH);
-        if (!resource.exists()) {
-            log.error("Template file not found at: {}", TEMPLATE_PATH);
-            throw new RuntimeException("Template file not found: " + TEMPLATE_PATH);
+    /**
+     * 템플릿 기반 엑셀 파일을 스트림으로 기록 (SXSSF)
+     *
+     * 템플릿에 미리 있는 행은 그대로 채우고, 그 이후 행은 STREAM_WINDOW_ROWS 행만 메모리에 두고
+     * 나머지는 임시 파일로 내보내므로 행 수와 관계없이 메모리 사용량이 일정합니다.
+     * @param request 헤더 정보와 지출 내역
+     * @param out 출력 스트림 (닫지 않음)
+     */
+    public void writeExcel(ExcelDownloadRequest request, OutputStream out) throws IOException {
+        List<Map<String, Object>> items = request.getItems() != null ? request.getItems() : List.of();
+
+        // items의 첫 번째 항목에서 parentDeptName 가져오기
+        String parentDeptName = "전체";
+        if (!items.isEmpty() && items.get(0).get("parentDeptName") != null) {
+            parentDeptName = items.get(0).get("parentDeptName").toString();
+        }
+
+        write(request, parentDeptName, items.size(), out, writer -> {
+            for (Map<String, Object> item : items) {
+                Row dataRow = writer.nextRow();
+
+                // 각 헤더에 맞춰 값 입력
+                for (Map.Entry<String, Object> entry : item.entrySet()) {
+                    writer.setValue(dataRow, entry.getKey(), entry.getValue());
+                }
+            }
+        });
+    }
+
+    /**
+     * 조회 조건으로 DB에서 지출 내역을 읽어 엑셀로 기록
+     *
+     * 클라이언트가 행 데이터를 보내지 않고, 커서로 한 행씩 읽어 바로 시트에 씁니다.
+     * 커서는 트랜잭션 안에서만 열려 있으므로 읽기 전용 트랜잭션으로 실행합니다.
+     * @param filter 멤버/팀/본부, 월, 검색어
+     * @param out 출력 스트림 (닫지 않음)
+     */
+    @Transactional(readOnly = true)
+    public void writeExcel(ExpenseExcelExportFilter filter, OutputStream out) throws IOException {
+        writeExcel(filter, out, null);
+    }
+
+    /**
+     * 조회 조건으로 DB에서 지출 내역을 읽어 엑셀로 기록 (진행률 통지)
+     * @param progress 행을 기록할 때마다 (기록한 행 수, 전체 행 수) 통지 (null 가능)
+     */
+    @Transactional(readOnly = true)
+    public void writeExcel(ExpenseExcelExportFilter filter, OutputStream out, ProgressListener progress) throws IOException {
+        String yearMonth = (filter.getYearMonth() != null && !filter.getYearMonth().isEmpty())
+                ? filter.getYearMonth() : YearMonth.now().toString();
+
+        // 헤더 정보 (화면과 동일하게 멤버 선택 시에만 이름/직급/부서/본부 표시)
+        String memberName = "전체";
+        String position = "";
+        String deptName = "전체";
+        String parentDeptName = "전체";
+        if (filter.getMemberId() != null) {
+            MemberIntranet member = memberMapper.findById(filter.getMemberId());
+            if (member == null) {
+                throw new RuntimeException("사원을 찾을 수 없습니다: " + filter.getMemberId());
+            }
+            memberName = member.getName();
+            position = member.getPosition() != null ? member.getPosition() : "";
+            if (member.getDepartmentId() != null) {
+                DepartmentIntranet dept = departmentMapper.findById(member.getDepartmentId());
+                if (dept != null) {
+                    deptName = dept.getName();
+                    // 본부(상위 부서) 정보
+                    if (dept.getParentId() != null) {
+                        DepartmentIntranet parentDept = departmentMapper.findById(dept.getParentId());
+                        if (parentDept != null) {
+                            parentDeptName = parentDept.getName();
+                        }
+                    }
+                }
+            }
+        }
+
+        ExcelDownloadRequest header = new ExcelDownloadRequest(memberName, position, deptName, yearMonth, null);
+        String rowParentDeptName = parentDeptName;
+        int totalCount = expenseItemMapper.countForExport(filter);
+        if (progress != null) {
+            progress.onProgress(0, totalCount);
+        }
+
+        try (Cursor<ExpenseItemIntranet> cursor = expenseItemMapper.streamForExport(filter)) {
+            write(header, parentDeptName, totalCount, out, writer -> {
+                int written = 0;
+                for (ExpenseItemIntranet item : cursor) {
+                    Row dataRow = writer.nextRow();
+                    writer.setValue(dataRow, "usageDate", item.getUsageDate() != null ? item.getUsageDate().toString() : "");
+                    writer.setValue(dataRow, "memberName", item.getMember() != null ? item.getMember().getName() : "");
+                    writer.setValue(dataRow, "parentDeptName", rowParentDeptName);
+                    writer.setValue(dataRow, "deptName", item.getMember() != null ? item.getMember().getDepartmentName() : "");
+                    writer.setValue(dataRow, "description", item.getDescription());
+                    writer.setValue(dataRow, "account", item.getAccount());
+                    writer.setValue(dataRow, "amount", item.getAmount() != null ? item.getAmount() : BigDecimal.ZERO);
+                    writer.setValue(dataRow, "vendor", item.getVendor());
+                    writer.setValue(dataRow, "costCode", item.getCostCode());
+                    writer.setValue(dataRow, "projectCode", item.getProjectCode());
+                    writer.setValue(dataRow, "note", item.getNote());
+
+                    if (progress != null) {
+                        progress.onProgress(++written, totalCount);
+                    }
+                }
+            });
         }
+    }
 
-        log.info("Template file found, loading...");
+    /**
+     * 템플릿을 열어 헤더와 지출 내역을 채운 뒤 출력 스트림에 기록
+     * @param header 헤더 정보 (items 는 사용하지 않음)
+     * @param totalCount 총 라인 수 (증빙서류 컬럼에 입력)
+     * @param items 지출 내역 입력
+     */
+    private void write(ExcelDownloadRequest header, String parentDeptName, int totalCount,
+                       OutputStream out, Consumer<ItemRowWriter> items) throws IOException {
+        log.info("Starting Excel generation for member: {}, dept: {}, month: {}, items: {}",
+            header.getMember(), header.getDept(), header.getYearMonth(), totalCount);
+
+        if (layout == null) {
+            throw new RuntimeException("Template file not found: " + TEMPLATE_PATH);
+        }
 
-        try (InputStream templateStream = resource.getInputStream();
-             Workbook workbook = WorkbookFactory.create(templateStream)) {
+        SXSSFWorkbook workbook = null;
+        try (InputStream templateStream = new ByteArrayInputStream(layout.templateBytes);
+             XSSFWorkbook template = new XSSFWorkbook(templateStream)) {
 
-            log.info("Workbook created successfully");
-            Sheet sheet = workbook.getSheetAt(0);
-            log.info("Sheet retrieved: {}", sheet.getSheetName());
+            Sheet sheet = template.getSheetAt(0);
 
             // 시트 이름 변경: 지출내역(매니저명)
-            String memberName = (request.getMember() != null ? request.getMember() : "전체");
-            String sheetName1 = "지출내역(" + memberName + ")";
-            workbook.setSheetName(0, sheetName1);
-            log.info("First sheet name changed to: {}", sheetName1);
+            String memberName = (header.getMember() != null ? header.getMember() : "전체");
+            template.setSheetName(0, "지출내역(" + memberName + ")");
 
             // 두 번째 시트가 있으면 이름 변경: 지출보고서(매니저명)
-            if (workbook.getNumberOfSheets() > 1) {
-                String sheetName2 = "지출보고서(" + memberName + ")";
-                workbook.setSheetName(1, sheetName2);
-                log.info("Second sheet name changed to: {}", sheetName2);
+            if (template.getNumberOfSheets() > 1) {
+                template.setSheetName(1, "지출보고서(" + memberName + ")");
             }
 
             // 1. 헤더 정보 입력 (Name, Department, Approval Date)
-            fillHeaderInfo(sheet, request);
-
-            // 2. 지출 내역 테이블 찾기 및 데이터 입력
-            fillExpenseItems(sheet, request);
+            fillHeaderInfo(sheet, header, parentDeptName);
+
+            // 2. 템플릿 이후 행은 스트리밍으로 추가
+            workbook = new SXSSFWorkbook(template, STREAM_WINDOW_ROWS);
+            workbook.setCompressTempFiles(true);
+
+            // 3. 지출 내역 데이터 입력
+            if (layout.headerRowIndex < 0) {
+                log.warn("Header row not found in template");
+            } else {
+                ItemRowWriter writer = new ItemRowWriter(sheet, workbook.getSheetAt(0), totalCount);
+                items.accept(writer);
+                writer.finish();
+            }
 
-            // 3. 수식 강제 재계산 설정
+            // 4. 수식 강제 재계산 설정
             workbook.setForceFormulaRecalculation(true);
 
-            // 4. ByteArray로 변환하여 반환
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            byte[] result = outputStream.toByteArray();
-            log.info("Excel file generated successfully, size: {} bytes", result.length);
-            return result;
-        } catch (Exception e) {
+            workbook.write(out);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
             log.error("Error generating Excel: ", e);
             throw e;
+        } finally {
+            if (workbook != null) {
+                // 스트리밍 임시 파일 삭제
+                workbook.dispose();
+            }
         }
     }
 
     /**
      * 헤더 정보 입력 (Name, Department, Approval Date, Parent Department)
+     * - 라벨 위치는 템플릿 분석 시 찾아 둔 좌표 사용
      */
-    private void fillHeaderInfo(Sheet sheet, ExcelDownloadRequest request) {
+    private void fillHeaderInfo(Sheet sheet, ExcelDownloadRequest request, String parentDeptName) {
         // Approval Date 계산 (yearMonth의 마지막 날)
         YearMonth ym = YearMonth.parse(request.getYearMonth(), DateTimeFormatter.ofPattern("yyyy-MM"));
         LocalDate approvalDate = ym.atEndOfMonth();
         String approvalDateStr = approvalDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
-        // 동적으로 라벨 찾아서 오른쪽 셀에 값 입력
-        for (Row row : sheet) {
-            if (row == null) continue;
+        for (HeaderCell headerCell : layout.headerCells) {
+            String value;
+            switch (headerCell.field) {
+                case NAME:
+                    value = request.getMember();
+                    break;
+                case POSITION:
+                    value = request.getPosition() != null ? request.getPosition() : "";
+                    break;
+                case DEPARTMENT:
+                    value = request.getDept();
+                    break;
+                case PARENT_DEPARTMENT:
+                    value = parentDeptName;
+                    break;
+                default:
+                    value = approvalDateStr;
+                    break;
+            }
 
-            for (Cell cell : row) {
-                if (cell == null || cell.getCellType() != CellType.STRING) continue;
+            Row row = sheet.getRow(headerCell.rowIndex);
+            Cell valueCell = row.getCell(headerCell.columnIndex);
+            if (valueCell == null) {
+                valueCell = row.createCell(headerCell.columnIndex);
+            }
+            valueCell.setCellValue(value);
+        }
+    }
 
-                String cellValue = cell.getStringCellValue().trim();
+    /**
+     * 지출 내역 행 입력기 (엑셀 1건 생성 동안만 사용)
+     * - 템플릿에 미리 있는 행까지는 템플릿 시트에, 이후는 스트리밍 시트에 기록
+     */
+    private final class ItemRowWriter {
+        private final Sheet sheet;
+        private final Sheet streamSheet;
+        private final int totalCount;
+        private final Map<Integer, CellStyle> dataStyles = new HashMap<>();
+        private int currentRowIndex;
+
+        ItemRowWriter(Sheet sheet, Sheet streamSheet, int totalCount) {
+            this.sheet = sheet;
+            this.streamSheet = streamSheet;
+            this.totalCount = totalCount;
+            this.currentRowIndex = layout.headerRowIndex + 1;
+
+            // 템플릿 데이터 행의 스타일 (분석 시 찾아 둔 스타일 인덱스)
+            Workbook workbook = sheet.getWorkbook();
+            for (Map.Entry<Integer, Integer> style : layout.dataStyleIndexes.entrySet()) {
+                dataStyles.put(style.getKey(), workbook.getCellStyleAt(style.getValue()));
+            }
+        }
 
-                // Name 찾기
-                if ("Name".equalsIgnoreCase(cellValue) || "이름".equals(cellValue) || "성명".equals(cellValue)) {
-                    Cell valueCell = row.getCell(cell.getColumnIndex() + 1);
-                    if (valueCell == null) {
-                        valueCell = row.createCell(cell.getColumnIndex() + 1);
-                    }
-                    valueCell.setCellValue(request.getMember());
-                    log.info("Set Name: {} at row {}, col {}", request.getMember(), row.getRowNum(), valueCell.getColumnIndex());
+        /**
+         * 다음 데이터 행 (증빙서류 컬럼에 총 라인 수 입력)
+         */
+        Row nextRow() {
+            Row dataRow;
+            if (currentRowIndex <= layout.templateLastRowIndex) {
+                dataRow = sheet.getRow(currentRowIndex);
+                if (dataRow == null) {
+                    dataRow = sheet.createRow(currentRowIndex);
                 }
+            } else {
+                dataRow = streamSheet.createRow(currentRowIndex);
+            }
+            currentRowIndex++;
 
-                // Position 찾기
-                if ("Position".equalsIgnoreCase(cellValue) || "직급".equals(cellValue) || "직위".equals(cellValue) || "직책".equals(cellValue)) {
-                    Cell valueCell = row.getCell(cell.getColumnIndex() + 1);
-                    if (valueCell == null) {
-                        valueCell = row.createCell(cell.getColumnIndex() + 1);
-                    }
-                    String position = request.getPosition() != null ? request.getPosition() : "";
-                    valueCell.setCellValue(position);
-                    log.info("Set Position: {} at row {}, col {}", position, row.getRowNum(), valueCell.getColumnIndex());
-                }
+            if (layout.receiptColumnIndex != null) {
+                setCellValue(getOrCreateCell(dataRow, layout.receiptColumnIndex), totalCount);
+            }
+            return dataRow;
+        }
 
-                // Department 찾기
-                if ("Department".equalsIgnoreCase(cellValue) || "부서".equals(cellValue) || "소속".equals(cellValue)) {
-                    Cell valueCell = row.getCell(cell.getColumnIndex() + 1);
-                    if (valueCell == null) {
-                        valueCell = row.createCell(cell.getColumnIndex() + 1);
-                    }
-                    valueCell.setCellValue(request.getDept());
-                    log.info("Set Department: {} at row {}, col {}", request.getDept(), row.getRowNum(), valueCell.getColumnIndex());
-                }
+        /**
+         * 항목 키에 해당하는 컬럼에 값 입력 (컬럼이 없으면 무시)
+         */
+        void setValue(Row dataRow, String key, Object value) {
+            int colIndex = layout.resolveColumn(key);
+            if (colIndex >= 0) {
+                setCellValue(getOrCreateCell(dataRow, colIndex), value);
+            }
+        }
 
-                // Parent Department (사업부서) 찾기
-                if ("사업부서".equals(cellValue) || "Parent Department".equalsIgnoreCase(cellValue) || "본부".equals(cellValue)) {
-                    Cell valueCell = row.getCell(cell.getColumnIndex() + 1);
-                    if (valueCell == null) {
-                        valueCell = row.createCell(cell.getColumnIndex() + 1);
-                    }
-                    // items의 첫 번째 항목에서 parentDeptName 가져오기
-                    String parentDeptName = "전체";
-                    if (request.getItems() != null && !request.getItems().isEmpty()) {
-                        Object parentDept = request.getItems().get(0).get("parentDeptName");
-                        if (parentDept != null) {
-                            parentDeptName = parentDept.toString();
-                        }
-                    }
-                    valueCell.setCellValue(parentDeptName);
-                    log.info("Set Parent Department: {} at row {}, col {}", parentDeptName, row.getRowNum(), valueCell.getColumnIndex());
-                }
+        void finish() {
+            int insertedCount = currentRowIndex - (layout.headerRowIndex + 1);
+            if (insertedCount > 0) {
+                // 합계/건수 수식 범위를 실제 마지막 행까지 확장
+                extendSummaryFormulas(sheet, currentRowIndex - 1);
+            }
+            log.info("Inserted {} expense items", insertedCount);
+        }
 
-                // Approval Date 찾기
-                if ("Approval Date".equalsIgnoreCase(cellValue) || "승인일자".equals(cellValue) || "결재일".equals(cellValue)) {
-                    Cell valueCell = row.getCell(cell.getColumnIndex() + 1);
-                    if (valueCell == null) {
-                        valueCell = row.createCell(cell.getColumnIndex() + 1);
-                    }
-                    valueCell.setCellValue(approvalDateStr);
-                    log.info("Set Approval Date: {} at row {}, col {}", approvalDateStr, row.getRowNum(), valueCell.getColumnIndex());
+        private Cell getOrCreateCell(Row row, int colIndex) {
+            Cell cell = row.getCell(colIndex);
+            if (cell == null) {
+                cell = row.createCell(colIndex);
+            }
+
+            // 템플릿 행의 스타일 복사
+            CellStyle style = dataStyles.get(colIndex);
+            if (style != null) {
+                cell.setCellStyle(style);
+            }
+            return cell;
+        }
+    }
+
+    /**
+     * 헤더 영역의 합계/건수 수식(예: SUM(F14:F112)) 범위를 마지막 데이터 행까지 확장
+     * @param lastDataRowIndex 마지막 데이터 행 (0-based)
+     */
+    private void extendSummaryFormulas(Sheet sheet, int lastDataRowIndex) {
+        int firstDataRow = layout.headerRowIndex + 2;   // 엑셀 행 번호 (1-based)
+        int lastDataRow = lastDataRowIndex + 1;
+
+        for (int[] position : layout.summaryFormulaCells) {
+            Cell cell = sheet.getRow(position[0]).getCell(position[1]);
+
+            Matcher matcher = DATA_RANGE_PATTERN.matcher(cell.getCellFormula());
+            StringBuilder formula = new StringBuilder();
+            boolean changed = false;
+            while (matcher.find()) {
+                int from = Integer.parseInt(matcher.group(2));
+                int to = Integer.parseInt(matcher.group(4));
+                if (from == firstDataRow && to < lastDataRow) {
+                    matcher.appendReplacement(formula, matcher.group(1) + from + ":" + matcher.group(3) + lastDataRow);
+                    changed = true;
+                } else {
+                    matcher.appendReplacement(formula, Matcher.quoteReplacement(matcher.group()));
                 }
             }
+            matcher.appendTail(formula);
+
+            if (changed) {
+                cell.setCellFormula(formula.toString());
+                log.debug("Extended formula at row {}, col {}: {}", position[0], position[1], formula);
+            }
         }
     }
 
     /**
-     * 지출 내역 테이블 찾기 및 데이터 입력
+     * 템플릿 분석 - 라벨 좌표, 지출 내역 헤더/컬럼, 데이터 행 스타일, 합계 수식 위치
      */
-    private void fillExpenseItems(Sheet sheet, ExcelDownloadRequest request) {
-        if (request.getItems() == null || request.getItems().isEmpty()) {
-            return;
+    private TemplateLayout loadTemplateLayout() {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_PATH);
+        if (!resource.exists()) {
+            log.error("Template file not found at: {}", TEMPLATE_PATH);
+            return null;
         }
 
-        // 1. 헤더 행 찾기
-        int headerRowIndex = -1;
-        Row headerRow = null;
-        Map<String, Integer> headerMap = new HashMap<>();
+        try (InputStream in = resource.getInputStream()) {
+            byte[] templateBytes = in.readAllBytes();
+
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(templateBytes))) {
+                Sheet sheet = workbook.getSheetAt(0);
+                TemplateLayout templateLayout = findExpenseTable(sheet, templateBytes, findHeaderCells(sheet));
+
+                log.info("Excel template layout loaded: header cells={}, table header row={}, columns={}",
+                    templateLayout.headerCells.size(), templateLayout.headerRowIndex, templateLayout.columnIndexes);
+                return templateLayout;
+            }
+        } catch (IOException e) {
+            log.error("Failed to load Excel template: {}", TEMPLATE_PATH, e);
+            return null;
+        }
+    }
+
+    /**
+     * 헤더 라벨 찾기 (라벨 오른쪽 셀에 값 입력)
+     */
+    private List<HeaderCell> findHeaderCells(Sheet sheet) {
+        List<HeaderCell> headerCells = new ArrayList<>();
+        for (Row row : sheet) {
+            if (row == null) continue;
+
+            for (Cell cell : row) {
+                if (cell == null || cell.getCellType() != CellType.STRING) continue;
+
+                HeaderField field = HeaderField.fromLabel(cell.getStringCellValue().trim());
+                if (field != null) {
+                    headerCells.add(new HeaderCell(field, row.getRowNum(), cell.getColumnIndex() + 1));
+                }
+            }
+        }
+        return headerCells;
+    }
 
+    /**
+     * 지출 내역 테이블 헤더 행, 컬럼, 데이터 행 스타일, 합계 수식 위치 찾기
+     */
+    private TemplateLayout findExpenseTable(Sheet sheet, byte[] templateBytes, List<HeaderCell> headerCells) {
+        // 1. 헤더 행 찾기 ("Usage Date"/"사용일자" 와 "Amount"/"금액" 이 있는 행)
+        Row headerRow = null;
         for (int i = 0; i <= sheet.getLastRowNum(); i++) {
             Row row = sheet.getRow(i);
             if (row == null) continue;
 
-            // "Usage Date", "사용일자", "Amount", "금액", "Description", "사용 내용" 등의 헤더가 있는지 확인
             boolean hasUsageDate = false;
             boolean hasAmount = false;
 
@@ -193,52 +490,34 @@ public class ExpenseExcelService {
             }
 
             if (hasUsageDate && hasAmount) {
-                headerRowIndex = i;
                 headerRow = row;
-                log.info("Found header row at index: {}", headerRowIndex);
                 break;
             }
         }
 
         if (headerRow == null) {
             log.warn("Header row not found in template");
-            return;
+            return new TemplateLayout(templateBytes, sheet.getLastRowNum(), headerCells, -1,
+                    Map.of(), null, Map.of(), List.of());
         }
+        int headerRowIndex = headerRow.getRowNum();
 
         // 2. 헤더명과 컬럼 인덱스 매핑
-        log.info("=== All cells in header row (including empty) ===");
-        int lastCellNum = headerRow.getLastCellNum();
-        for (int i = 0; i < lastCellNum; i++) {
+        Map<String, Integer> headerMap = new HashMap<>();
+        for (int i = 0; i < headerRow.getLastCellNum(); i++) {
             Cell cell = headerRow.getCell(i);
-            String cellValue = "";
             if (cell != null && cell.getCellType() == CellType.STRING) {
-                cellValue = cell.getStringCellValue().trim();
-            }
-            log.info("  Index {} ({}): [{}]", i, getExcelColumnName(i), cellValue);
-
-            // 빈 문자열이 아닌 경우에만 헤더맵에 추가
-            if (!cellValue.isEmpty()) {
-                headerMap.put(cellValue, i);
+                String cellValue = cell.getStringCellValue().trim();
+                log.debug("  Index {} ({}): [{}]", i, getExcelColumnName(i), cellValue);
+                if (!cellValue.isEmpty()) {
+                    headerMap.put(cellValue, i);
+                }
             }
         }
 
-        log.info("Header map: {}", headerMap);
-
-        // 3. 마지막 템플릿 행의 스타일 가져오기 (포맷 유지를 위해)
-        int templateDataRowIndex = headerRowIndex + 1;
-        Row templateDataRow = sheet.getRow(templateDataRowIndex);
-        if (templateDataRow == null) {
-            templateDataRow = sheet.createRow(templateDataRowIndex);
-        }
-
-        // 4. 데이터 행 추가
-        int currentRowIndex = headerRowIndex + 1;
-        int totalCount = request.getItems().size();  // 총 라인 수
-
-        // 증빙서류(영수증) 컬럼 인덱스 미리 찾기
-        Integer receiptColIndex = findColumnIndex(headerMap, "receipt");
+        // 3. 증빙서류(영수증) 컬럼
+        Integer receiptColIndex = headerMap.get("receipt");
         if (receiptColIndex == null) {
-            // "증빙서류", "영수증" 등 다른 이름으로도 찾기
             for (Map.Entry<String, Integer> header : headerMap.entrySet()) {
                 String headerName = header.getKey();
                 if (headerName.contains("증빙") || headerName.contains("영수증") ||
@@ -249,106 +528,31 @@ public class ExpenseExcelService {
             }
         }
 
-        for (Map<String, Object> item : request.getItems()) {
-            Row dataRow = sheet.getRow(currentRowIndex);
-            if (dataRow == null) {
-                dataRow = sheet.createRow(currentRowIndex);
-            }
-
-            log.info("Processing item: {}", item);
-
-            // 증빙서류(영수증) 컬럼에 총 라인 수 입력
-            if (receiptColIndex != null) {
-                Cell receiptCell = dataRow.getCell(receiptColIndex);
-                if (receiptCell == null) {
-                    receiptCell = dataRow.createCell(receiptColIndex);
-                }
-
-                // 템플릿 스타일 복사
-                Cell templateCell = templateDataRow.getCell(receiptColIndex);
-                if (templateCell != null && templateCell.getCellStyle() != null) {
-                    receiptCell.setCellStyle(templateCell.getCellStyle());
+        // 4. 헤더 바로 아래 템플릿 데이터 행의 스타일 (포맷 유지를 위해)
+        Map<Integer, Integer> dataStyleIndexes = new HashMap<>();
+        Row templateDataRow = sheet.getRow(headerRowIndex + 1);
+        if (templateDataRow != null) {
+            for (Cell cell : templateDataRow) {
+                if (cell.getCellStyle() != null) {
+                    dataStyleIndexes.put(cell.getColumnIndex(), (int) cell.getCellStyle().getIndex());
                 }
-
-                receiptCell.setCellValue(totalCount);
             }
-
-            // 각 헤더에 맞춰 값 입력
-            for (Map.Entry<String, Object> entry : item.entrySet()) {
-                String key = entry.getKey();
-                Object value = entry.getValue();
-
-                // 헤더명과 매칭되는 컬럼 찾기
-                Integer colIndex = findColumnIndex(headerMap, key);
-                log.info("Key: {}, Value: {}, ColIndex: {}", key, value, colIndex);
-                if (colIndex != null) {
-                    Cell cell = dataRow.getCell(colIndex);
-                    if (cell == null) {
-                        cell = dataRow.createCell(colIndex);
-                    }
-
-                    // 템플릿 행의 스타일 복사
-                    Cell templateCell = templateDataRow.getCell(colIndex);
-                    if (templateCell != null && templateCell.getCellStyle() != null) {
-                        cell.setCellStyle(templateCell.getCellStyle());
-                    }
-
-                    // 값 입력
-                    setCellValue(cell, value);
-                }
-            }
-
-            currentRowIndex++;
-        }
-
-        log.info("Inserted {} expense items", request.getItems().size());
-    }
-
-    /**
-     * 헤더명으로 컬럼 인덱스 찾기 (유연한 매칭)
-     */
-    private Integer findColumnIndex(Map<String, Integer> headerMap, String key) {
-        // 강제 컬럼 매핑 (하드코딩 우선순위)
-        Map<String, Integer> forcedMapping = new HashMap<>();
-        forcedMapping.put("usageDate", 2);        // C열: 사용일시
-        forcedMapping.put("description", 3);      // D열: 사용 내용
-        forcedMapping.put("account", 4);          // E열: 계정
-        forcedMapping.put("amount", 5);           // F열: 사용금액
-        forcedMapping.put("vendor", 6);           // G열: 업소명
-        forcedMapping.put("costCode", 7);         // H열: 경비코드
-        forcedMapping.put("projectCode", 8);      // I열: 프로젝트코드
-        forcedMapping.put("note", 9);             // J열: 비고
-
-        // 강제 매핑에 있으면 그 인덱스 사용
-        if (forcedMapping.containsKey(key)) {
-            Integer forcedIndex = forcedMapping.get(key);
-            log.info("Using forced mapping: key={}, index={}", key, forcedIndex);
-            return forcedIndex;
-        }
-
-        // 정확히 일치하는 경우
-        if (headerMap.containsKey(key)) {
-            return headerMap.get(key);
         }
 
-        // 영어-한글 매핑
-        Map<String, String[]> aliases = new HashMap<>();
-        aliases.put("memberName", new String[]{"Name", "이름", "사용자", "성명"});
-        aliases.put("parentDeptName", new String[]{"Parent Department", "본부", "사업부서", "상위부서"});
-        aliases.put("deptName", new String[]{"Department", "부서", "팀", "소속"});
-
-        // 별칭으로 매칭
-        for (Map.Entry<String, String[]> alias : aliases.entrySet()) {
-            if (alias.getKey().equalsIgnoreCase(key)) {
-                for (String headerName : alias.getValue()) {
-                    if (headerMap.containsKey(headerName)) {
-                        return headerMap.get(headerName);
-                    }
+        // 5. 헤더 영역의 수식 셀 (합계/건수 범위 확장 대상)
+        List<int[]> summaryFormulaCells = new ArrayList<>();
+        for (int i = 0; i < headerRowIndex; i++) {
+            Row row = sheet.getRow(i);
+            if (row == null) continue;
+            for (Cell cell : row) {
+                if (cell.getCellType() == CellType.FORMULA && DATA_RANGE_PATTERN.matcher(cell.getCellFormula()).find()) {
+                    summaryFormulaCells.add(new int[]{i, cell.getColumnIndex()});
                 }
             }
         }
 
-        return null;
+        return new TemplateLayout(templateBytes, sheet.getLastRowNum(), headerCells, headerRowIndex,
+                headerMap, receiptColIndex, dataStyleIndexes, summaryFormulaCells);
     }
 
     /**
@@ -377,4 +581,117 @@ public class ExpenseExcelService {
         }
         return columnName.toString();
     }
+
+    /**
+     * 진행률 통지 (내보내기 작업 상태 표시용)
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int processed, int total);
+    }
+
+    /**
+     * 헤더 라벨 종류
+     */
+    private enum HeaderField {
+        NAME, POSITION, DEPARTMENT, PARENT_DEPARTMENT, APPROVAL_DATE;
+
+        static HeaderField fromLabel(String label) {
+            if ("Name".equalsIgnoreCase(label) || "이름".equals(label) || "성명".equals(label)) {
+                return NAME;
+            }
+            if ("Position".equalsIgnoreCase(label) || "직급".equals(label) || "직위".equals(label) || "직책".equals(label)) {
+                return POSITION;
+            }
+            if ("Department".equalsIgnoreCase(label) || "부서".equals(label) || "소속".equals(label)) {
+                return DEPARTMENT;
+            }
+            if ("사업부서".equals(label) || "Parent Department".equalsIgnoreCase(label) || "본부".equals(label)) {
+                return PARENT_DEPARTMENT;
+            }
+            if ("Approval Date".equalsIgnoreCase(label) || "승인일자".equals(label) || "결재일".equals(label)) {
+                return APPROVAL_DATE;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 헤더 값 입력 위치
+     */
+    private static final class HeaderCell {
+        private final HeaderField field;
+        private final int rowIndex;
+        private final int columnIndex;
+
+        HeaderCell(HeaderField field, int rowIndex, int columnIndex) {
+            this.field = field;
+            this.rowIndex = rowIndex;
+            this.columnIndex = columnIndex;
+        }
+    }
+
+    /**
+     * 분석된 템플릿 레이아웃 (기동 시 1회 생성, 요청 간 공유 - 생성 후 변경하지 않음)
+     */
+    private static final class TemplateLayout {
+        private final byte[] templateBytes;
+        private final int templateLastRowIndex;
+        private final List<HeaderCell> headerCells;
+        private final int headerRowIndex;
+        private final Integer receiptColumnIndex;
+        private final Map<Integer, Integer> dataStyleIndexes;
+        private final List<int[]> summaryFormulaCells;
+
+        // 항목 키(FORCED_MAPPING, ALIASES 키) → 컬럼 인덱스 (템플릿에 없는 키는 제외)
+        private final Map<String, Integer> columnIndexes;
+
+        TemplateLayout(byte[] templateBytes, int templateLastRowIndex, List<HeaderCell> headerCells,
+                       int headerRowIndex, Map<String, Integer> headerMap, Integer receiptColumnIndex,
+                       Map<Integer, Integer> dataStyleIndexes, List<int[]> summaryFormulaCells) {
+            this.templateBytes = templateBytes;
+            this.templateLastRowIndex = templateLastRowIndex;
+            this.headerCells = List.copyOf(headerCells);
+            this.headerRowIndex = headerRowIndex;
+            this.receiptColumnIndex = receiptColumnIndex;
+            this.dataStyleIndexes = Map.copyOf(dataStyleIndexes);
+            this.summaryFormulaCells = List.copyOf(summaryFormulaCells);
+            this.columnIndexes = resolveColumns(headerMap);
+        }
+
+        /**
+         * 고정 항목 키의 컬럼 인덱스 계산 (강제 매핑 → 헤더명 일치 → 별칭 순)
+         */
+        private static Map<String, Integer> resolveColumns(Map<String, Integer> headerMap) {
+            Map<String, Integer> columns = new HashMap<>(FORCED_MAPPING);
+            for (Map.Entry<String, List<String>> alias : ALIASES.entrySet()) {
+                String key = alias.getKey();
+                if (columns.containsKey(key)) {
+                    continue;
+                }
+
+                Integer index = headerMap.get(key);
+                if (index == null) {
+                    for (String headerName : alias.getValue()) {
+                        index = headerMap.get(headerName);
+                        if (index != null) {
+                            break;
+                        }
+                    }
+                }
+                if (index != null) {
+                    columns.put(key, index);
+                }
+            }
+            return Map.copyOf(columns);
+        }
+
+        /**
+         * 항목 키로 컬럼 인덱스 찾기 (고정 항목 키가 아니거나 템플릿에 없으면 -1)
+         */
+        int resolveColumn(String key) {
+            Integer index = columnIndexes.get(key);
+            return index != null ? index : -1;
+        }
+    }
 }
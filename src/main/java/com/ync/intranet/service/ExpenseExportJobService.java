@@ -0,0 +1,361 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.MemberIntranet;
+import com.ync.intranet.dto.ExpenseExcelExportFilter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 경비 엑셀 내보내기 작업 서비스 (인트라넷)
+ *
+ * 요청 스레드는 작업 ID만 받아 바로 돌아가고, 파일은 작업 스레드가 디스크에 생성합니다.
+ * 클라이언트는 상태를 조회(또는 완료 알림을 받아)한 뒤 저장된 파일을 내려받습니다.
+ * - 작업 정보는 프로세스 메모리에만 유지됩니다 (재기동 시 남은 파일은 정리 작업이 삭제).
+ * - 완료된 파일은 보관 시간(retention-hours)이 지나면 삭제됩니다.
+ */
+@Service
+public class ExpenseExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseExportJobService.class);
+
+    public static final String TYPE_EXCEL = "EXCEL";
+    public static final String TYPE_ZIP = "ZIP";
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    // 사용자별 동시에 대기/실행할 수 있는 작업 수
+    private static final int MAX_ACTIVE_JOBS_PER_USER = 3;
+
+    private static final String DOWNLOAD_URL = "/api/intranet/expense-reports/items/excel/jobs/%s/file";
+
+    private final ExpenseExcelService expenseExcelService;
+    private final ExpenseExcelBatchService expenseExcelBatchService;
+    private final NotificationService notificationService;
+    private final Path exportDir;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExpenseExportJobService(ExpenseExcelService expenseExcelService,
+                                   ExpenseExcelBatchService expenseExcelBatchService,
+                                   NotificationService notificationService,
+                                   @Value("${intranet.expense.export-job.dir:${intranet.attachment.storage-dir:C:/uploads/intranet}/exports}") String exportDir,
+                                   @Value("${intranet.expense.export-job.workers:2}") int workers,
+                                   @Value("${intranet.expense.export-job.queue-capacity:20}") int queueCapacity,
+                                   @Value("${intranet.expense.export-job.retention-hours:24}") long retentionHours) throws IOException {
+        this.expenseExcelService = expenseExcelService;
+        this.expenseExcelBatchService = expenseExcelBatchService;
+        this.notificationService = notificationService;
+        this.exportDir = Paths.get(exportDir);
+        this.retention = Duration.ofHours(retentionHours);
+        Files.createDirectories(this.exportDir);
+
+        // 대기열이 가득 차면 거절 (요청 스레드에서 실행하지 않음)
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "expense-export-job");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 내보내기 작업 등록
+     * @param type EXCEL (조건에 맞는 통합 문서 1개) 또는 ZIP (멤버별 통합 문서 묶음)
+     * @param filter 조회 조건
+     * @param userId 요청자 ID
+     * @return 등록된 작업 (QUEUED)
+     */
+    public ExportJob submit(String type, ExpenseExcelExportFilter filter, Long userId) {
+        long activeJobs = jobs.values().stream()
+                .filter(job -> job.userId.equals(userId) && !job.isFinished())
+                .count();
+        if (activeJobs >= MAX_ACTIVE_JOBS_PER_USER) {
+            throw new RuntimeException("진행 중인 내보내기 작업이 " + MAX_ACTIVE_JOBS_PER_USER + "건 있습니다. 완료 후 다시 요청하세요");
+        }
+
+        String yearMonth = (filter.getYearMonth() != null && !filter.getYearMonth().isEmpty()) ? filter.getYearMonth() : "all";
+        String jobId = UUID.randomUUID().toString();
+        ExportJob job;
+        Runnable task;
+
+        if (TYPE_ZIP.equals(type)) {
+            // 대상 멤버는 등록 시점에 확정 (조건 오류를 바로 응답)
+            List<MemberIntranet> members = expenseExcelBatchService.getMembersForExport(filter);
+            if (members.isEmpty()) {
+                throw new RuntimeException("내보낼 지출 내역이 없습니다");
+            }
+            job = new ExportJob(jobId, TYPE_ZIP, userId, String.format("expense_reports_%s.zip", yearMonth),
+                    exportDir.resolve(jobId + ".zip"));
+            ExportJob zipJob = job;
+            task = () -> run(zipJob, out -> expenseExcelBatchService.writeZip(members, filter, out, zipJob::updateProgress));
+        } else if (TYPE_EXCEL.equals(type)) {
+            String target = (filter.getMemberId() != null) ? "member" + filter.getMemberId() : "all";
+            job = new ExportJob(jobId, TYPE_EXCEL, userId, String.format("expense_report_%s_%s.xlsx", target, yearMonth),
+                    exportDir.resolve(jobId + ".xlsx"));
+            ExportJob excelJob = job;
+            task = () -> run(excelJob, out -> expenseExcelService.writeExcel(filter, out, excelJob::updateProgress));
+        } else {
+            throw new RuntimeException("지원하지 않는 내보내기 유형입니다: " + type);
+        }
+
+        jobs.put(jobId, job);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw new RejectedExecutionException("대기 중인 내보내기 작업이 많습니다. 잠시 후 다시 시도하세요", e);
+        }
+
+        log.info("내보내기 작업 등록: {} ({}, 요청자 {})", jobId, type, userId);
+        return job;
+    }
+
+    /**
+     * 작업 상태 조회 (요청자 본인만)
+     */
+    public ExportJob getJob(String jobId, Long userId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new RuntimeException("내보내기 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 요청자의 작업 목록 (최근 순)
+     */
+    public List<ExportJob> getJobs(Long userId) {
+        List<ExportJob> result = new ArrayList<>();
+        for (ExportJob job : jobs.values()) {
+            if (job.userId.equals(userId)) {
+                result.add(job);
+            }
+        }
+        result.sort(Comparator.comparing(ExportJob::getCreatedAt).reversed());
+        return result;
+    }
+
+    /**
+     * 완료된 작업의 파일 (완료 전이거나 만료되었으면 예외)
+     */
+    public Path getFile(String jobId, Long userId) {
+        ExportJob job = getJob(jobId, userId);
+        if (!STATUS_COMPLETED.equals(job.status) || !Files.isReadable(job.file)) {
+            throw new RuntimeException("다운로드할 수 있는 파일이 없습니다 (상태: " + job.status + ")");
+        }
+        return job.file;
+    }
+
+    /**
+     * 만료된 작업과 파일 정리 (10분마다)
+     * - 재기동 등으로 작업 정보가 없는 파일도 보관 시간이 지나면 삭제
+     */
+    @Scheduled(fixedDelay = 10 * 60 * 1000L)
+    public void cleanupExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ExportJob job : jobs.values()) {
+            if (job.expiresAt != null && job.expiresAt.isBefore(now)) {
+                jobs.remove(job.jobId);
+                deleteQuietly(job.file);
+                deleteQuietly(partFile(job));
+                log.info("만료된 내보내기 작업 정리: {} ({})", job.jobId, job.fileName);
+            }
+        }
+
+        long threshold = now.minus(retention).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try (Stream<Path> files = Files.list(exportDir)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String jobId = file.getFileName().toString().split("\\.")[0];
+                if (!jobs.containsKey(jobId) && Files.getLastModifiedTime(file).toMillis() < threshold) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("내보내기 디렉토리 정리 실패: {}", exportDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 작업 실행 - 임시 파일(.part)에 기록한 뒤 완료되면 이름 변경
+     */
+    private void run(ExportJob job, ExportWriter writer) {
+        job.status = STATUS_RUNNING;
+        job.startedAt = LocalDateTime.now();
+        Path partFile = partFile(job);
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+                writer.write(out);
+            }
+            try {
+                Files.move(partFile, job.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partFile, job.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            job.fileSize = Files.size(job.file);
+            job.status = STATUS_COMPLETED;
+            log.info("내보내기 작업 완료: {} ({}, {} bytes, {}ms)", job.jobId, job.fileName, job.fileSize,
+                    Duration.between(job.startedAt, LocalDateTime.now()).toMillis());
+        } catch (Exception e) {
+            deleteQuietly(partFile);
+            job.errorMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.status = STATUS_FAILED;
+            log.error("내보내기 작업 실패: {} ({})", job.jobId, job.fileName, e);
+        } finally {
+            job.completedAt = LocalDateTime.now();
+            job.expiresAt = job.completedAt.plus(retention);
+        }
+
+        boolean success = STATUS_COMPLETED.equals(job.status);
+        notificationService.createExportCompletedNotification(job.userId, job.fileName,
+                success ? String.format(DOWNLOAD_URL, job.jobId) : "/expense-report_intranet.html", success);
+    }
+
+    private static Path partFile(ExportJob job) {
+        return job.file.resolveSibling(job.jobId + ".part");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("내보내기 파일 삭제 실패: {}", file, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * 내보내기 작업
+     */
+    public static final class ExportJob {
+        private final String jobId;
+        private final String type;
+        private final Long userId;
+        private final String fileName;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile String status = STATUS_QUEUED;
+        private volatile int processed;
+        private volatile int total;
+        private volatile long fileSize;
+        private volatile String errorMessage;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile LocalDateTime expiresAt;
+
+        ExportJob(String jobId, String type, Long userId, String fileName, Path file) {
+            this.jobId = jobId;
+            this.type = type;
+            this.userId = userId;
+            this.fileName = fileName;
+            this.file = file;
+        }
+
+        void updateProgress(int processed, int total) {
+            this.processed = processed;
+            this.total = total;
+        }
+
+        boolean isFinished() {
+            return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public int getProcessed() {
+            return processed;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * 진행률 (0~100, 완료 시 100)
+         */
+        public int getProgressPercent() {
+            if (STATUS_COMPLETED.equals(status)) {
+                return 100;
+            }
+            return total > 0 ? (int) (processed * 100L / total) : 0;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public LocalDateTime getCompletedAt() {
+            return completedAt;
+        }
+
+        public LocalDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.ExpenseItemIntranet;
+import com.ync.intranet.dto.ExpenseImportResultDto;
+import com.ync.intranet.mapper.ExpenseItemIntranetMapper;
+import com.ync.intranet.mapper.ExpenseReportIntranetMapper;
+import com.ync.intranet.mapper.MemberIntranetMapper;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경비 항목 엑셀/CSV 가져오기 서비스 (인트라넷)
+ *
+ * 카드 명세서 등의 XLSX(SAX 이벤트 방식) 또는 CSV 파일을 한 행씩 읽어 검증하고,
+ * IMPORT_BATCH_SIZE 건씩 insertBatch 로 등록합니다. 파일 크기와 관계없이 메모리 사용량이 일정합니다.
+ * - 오류 행이 하나라도 있으면 전체를 롤백하고 오류 목록만 반환
+ * - 경비보고서 총 금액은 마지막에 한 번만 재계산
+ */
+@Service
+public class ExpenseItemImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseItemImportService.class);
+
+    // insertBatch 1회당 행 수
+    private static final int IMPORT_BATCH_SIZE = 200;
+
+    // 응답에 담을 최대 오류 수
+    private static final int MAX_ERRORS = 100;
+
+    // 헤더 행을 찾을 최대 행 수 (명세서 상단의 제목/기간 행 건너뜀)
+    private static final int HEADER_SCAN_ROWS = 20;
+
+    // CSV 인코딩 판별에 사용할 앞부분 크기
+    private static final int CHARSET_SNIFF_BYTES = 64 * 1024;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-M-d");
+
+    // 항목 필드별 헤더명 (공백 제거, 소문자 기준)
+    private static final Map<String, List<String>> HEADER_ALIASES = Map.of(
+        "usageDate", List.of("사용일자", "사용일시", "사용일", "이용일자", "이용일시", "거래일자", "거래일시", "승인일자", "일자", "usagedate", "date"),
+        "description", List.of("사용내용", "사용내역", "내용", "적요", "description"),
+        "account", List.of("계정", "계정과목", "account"),
+        "amount", List.of("사용금액", "금액", "이용금액", "승인금액", "거래금액", "amount"),
+        "vendor", List.of("업소명", "가맹점", "가맹점명", "이용가맹점", "상호", "vendor"),
+        "costCode", List.of("경비코드", "costcode"),
+        "projectCode", List.of("프로젝트코드", "pjt코드", "projectcode"),
+        "note", List.of("비고", "메모", "note"),
+        "welfareFlag", List.of("복지비", "복지비여부", "welfare")
+    );
+
+    private final ExpenseItemIntranetMapper expenseItemMapper;
+    private final ExpenseReportIntranetMapper expenseReportMapper;
+    private final MemberIntranetMapper memberMapper;
+    private final ExpenseItemIntranetService expenseItemService;
+
+    public ExpenseItemImportService(ExpenseItemIntranetMapper expenseItemMapper,
+                                    ExpenseReportIntranetMapper expenseReportMapper,
+                                    MemberIntranetMapper memberMapper,
+                                    ExpenseItemIntranetService expenseItemService) {
+        this.expenseItemMapper = expenseItemMapper;
+        this.expenseReportMapper = expenseReportMapper;
+        this.memberMapper = memberMapper;
+        this.expenseItemService = expenseItemService;
+    }
+
+    /**
+     * 경비 항목 가져오기
+     * @param in 파일 내용
+     * @param fileName 원본 파일명 (확장자로 xlsx/csv 구분)
+     * @param memberId 사용자
+     * @param expenseReportId 경비보고서 (없으면 개별 항목으로 등록)
+     * @param defaultAccount 계정 컬럼이 없거나 비어 있을 때 사용할 계정
+     */
+    @Transactional
+    public ExpenseImportResultDto importItems(InputStream in, String fileName, Long memberId,
+                                              Long expenseReportId, String defaultAccount) throws IOException {
+        if (memberId == null || memberMapper.findById(memberId) == null) {
+            throw new RuntimeException("사원을 찾을 수 없습니다: " + memberId);
+        }
+        if (expenseReportId != null && expenseReportMapper.findById(expenseReportId) == null) {
+            throw new RuntimeException("경비보고서를 찾을 수 없습니다: " + expenseReportId);
+        }
+
+        String lowerName = fileName != null ? fileName.toLowerCase() : "";
+        ImportRowHandler handler = new ImportRowHandler(memberId, expenseReportId, defaultAccount);
+        if (lowerName.endsWith(".xlsx")) {
+            readXlsx(in, handler);
+        } else if (lowerName.endsWith(".csv")) {
+            readCsv(in, handler);
+        } else {
+            throw new RuntimeException("xlsx 또는 csv 파일만 가져올 수 있습니다");
+        }
+
+        ExpenseImportResultDto result = handler.finish();
+        if (result.getErrorCount() > 0) {
+            // 이미 등록한 배치까지 모두 취소
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            result.setImportedCount(0);
+            result.setImportedAmount(BigDecimal.ZERO);
+            log.info("경비 항목 가져오기 실패: {} (행 {}건, 오류 {}건)", fileName, result.getTotalRows(), result.getErrorCount());
+            return result;
+        }
+
+        // 경비보고서 총 금액은 마지막에 가져온 금액만큼 한 번만 반영
+        if (result.getImportedCount() > 0) {
+            expenseItemService.adjustReportTotalAmount(expenseReportId, result.getImportedAmount());
+        }
+
+        log.info("경비 항목 가져오기 완료: {} ({}건, {}원)", fileName, result.getImportedCount(), result.getImportedAmount());
+        return result;
+    }
+
+    /**
+     * XLSX 첫 번째 시트를 SAX 이벤트 방식으로 읽기 (시트 전체를 메모리에 올리지 않음)
+     * - 스트림으로 열면 ZIP 전체를 메모리에 올리므로 임시 파일로 받아 파일로 엶
+     */
+    private void readXlsx(InputStream in, ImportRowHandler handler) throws IOException {
+        Path tempFile = Files.createTempFile("expense-import-", ".xlsx");
+        try {
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            readXlsx(tempFile, handler);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void readXlsx(Path file, ImportRowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new RuntimeException("시트가 없는 파일입니다");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                        new SheetRowCollector(handler), new ImportDataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new RuntimeException("엑셀 파일을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * CSV 읽기 (따옴표/줄바꿈 포함 필드 지원, UTF-8 이 아니면 MS949 로 읽음)
+     */
+    private void readCsv(InputStream in, ImportRowHandler handler) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, CHARSET_SNIFF_BYTES);
+        Charset charset = detectCharset(buffered);
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(buffered, charset))) {
+            List<String> cells = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean rowHasContent = false;
+            int rowNum = 1;
+            int ch;
+
+            while ((ch = reader.read()) != -1) {
+                char c = (char) ch;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    rowHasContent = true;
+                } else if (c == ',') {
+                    cells.add(field.toString());
+                    field.setLength(0);
+                    rowHasContent = true;
+                } else if (c == '\n') {
+                    cells.add(field.toString());
+                    handler.row(rowNum++, cells);
+                    cells = new ArrayList<>();
+                    field.setLength(0);
+                    rowHasContent = false;
+                } else if (c != '\r') {
+                    field.append(c);
+                    rowHasContent = true;
+                }
+            }
+
+            if (rowHasContent) {
+                cells.add(field.toString());
+                handler.row(rowNum, cells);
+            }
+        }
+    }
+
+    private static Charset detectCharset(BufferedInputStream in) throws IOException {
+        in.mark(CHARSET_SNIFF_BYTES);
+        byte[] head = in.readNBytes(CHARSET_SNIFF_BYTES);
+        in.reset();
+
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // 잘린 마지막 문자는 오류로 보지 않음 (endOfInput=false)
+        CharBuffer chars = CharBuffer.allocate(head.length);
+        if (decoder.decode(ByteBuffer.wrap(head), chars, false).isError()) {
+            return Charset.forName("MS949");
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static String normalizeHeader(String value) {
+        return value == null ? "" : value.replace("\uFEFF", "").replaceAll("\\s", "").toLowerCase();
+    }
+
+    /**
+     * 행 단위 처리 - 헤더 찾기, 검증, 배치 등록
+     */
+    private final class ImportRowHandler {
+        private final Long memberId;
+        private final Long expenseReportId;
+        private final String defaultAccount;
+        private final ExpenseImportResultDto result = new ExpenseImportResultDto();
+        private final List<ExpenseItemIntranet> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+
+        // 필드명 → 컬럼 인덱스 (헤더 행을 찾기 전에는 null)
+        private Map<String, Integer> columns;
+
+        ImportRowHandler(Long memberId, Long expenseReportId, String defaultAccount) {
+            this.memberId = memberId;
+            this.expenseReportId = expenseReportId;
+            this.defaultAccount = (defaultAccount != null && !defaultAccount.isBlank()) ? defaultAccount.trim() : null;
+        }
+
+        /**
+         * @param rowNum 파일 기준 행 번호 (1부터)
+         * @param cells 셀 값 (빈 셀은 빈 문자열 또는 null)
+         */
+        void row(int rowNum, List<String> cells) {
+            if (columns == null) {
+                if (rowNum > HEADER_SCAN_ROWS) {
+                    throw new RuntimeException("헤더 행(사용일자, 금액)을 찾을 수 없습니다");
+                }
+                columns = findColumns(cells);
+                return;
+            }
+
+            if (isBlank(cells)) {
+                return;
+            }
+            result.setTotalRows(result.getTotalRows() + 1);
+
+            String error = null;
+            ExpenseItemIntranet item = new ExpenseItemIntranet();
+            item.setMemberId(memberId);
+            item.setExpenseReportId(expenseReportId);
+            item.setDescription(value(cells, "description"));
+            item.setVendor(value(cells, "vendor"));
+            item.setCostCode(value(cells, "costCode"));
+            item.setProjectCode(value(cells, "projectCode"));
+            item.setNote(value(cells, "note"));
+            item.setWelfareFlag(parseFlag(value(cells, "welfareFlag")));
+
+            String account = value(cells, "account");
+            item.setAccount(account != null ? account : defaultAccount);
+
+            try {
+                item.setUsageDate(parseDate(value(cells, "usageDate")));
+                item.setAmount(parseAmount(value(cells, "amount")));
+            } catch (RuntimeException e) {
+                error = e.getMessage();
+            }
+            if (error == null && item.getDescription() == null) {
+                error = "사용 내용이 없습니다";
+            }
+            if (error == null && item.getAccount() == null) {
+                error = "계정이 없습니다";
+            }
+
+            if (error != null) {
+                result.setErrorCount(result.getErrorCount() + 1);
+                if (result.getErrors().size() < MAX_ERRORS) {
+                    result.getErrors().add(rowNum + "행: " + error);
+                }
+                batch.clear();
+                return;
+            }
+
+            // 오류가 나온 뒤에는 어차피 롤백하므로 검증만 계속
+            if (result.getErrorCount() == 0) {
+                batch.add(item);
+                result.setImportedCount(result.getImportedCount() + 1);
+                result.setImportedAmount(result.getImportedAmount().add(item.getAmount()));
+                if (batch.size() >= IMPORT_BATCH_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        ExpenseImportResultDto finish() {
+            if (columns == null) {
+                throw new RuntimeException("헤더 행(사용일자, 금액)을 찾을 수 없습니다");
+            }
+            if (result.getErrorCount() == 0) {
+                flush();
+            }
+            if (result.getErrorCount() > MAX_ERRORS) {
+                result.getErrors().add("외 " + (result.getErrorCount() - MAX_ERRORS) + "건");
+            }
+            return result;
+        }
+
+        private void flush() {
+            if (!batch.isEmpty()) {
+                expenseItemMapper.insertBatch(batch);
+                batch.clear();
+            }
+        }
+
+        /**
+         * 헤더 행이면 필드별 컬럼 인덱스, 아니면 null (사용일자와 금액 컬럼이 있어야 헤더로 봄)
+         */
+        private Map<String, Integer> findColumns(List<String> cells) {
+            Map<String, Integer> found = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String header = normalizeHeader(cells.get(i));
+                for (Map.Entry<String, List<String>> alias : HEADER_ALIASES.entrySet()) {
+                    if (!found.containsKey(alias.getKey()) && alias.getValue().contains(header)) {
+                        found.put(alias.getKey(), i);
+                    }
+                }
+            }
+            return (found.containsKey("usageDate") && found.containsKey("amount")) ? found : null;
+        }
+
+        private String value(List<String> cells, String field) {
+            Integer index = columns.get(field);
+            if (index == null || index >= cells.size() || cells.get(index) == null) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private boolean isBlank(List<String> cells) {
+            for (String cell : cells) {
+                if (cell != null && !cell.isBlank()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 날짜 변환 (2026-09-01, 2026.09.01, 2026/9/1, 20260901, 뒤에 시각이 붙은 형식)
+     */
+    private static LocalDate parseDate(String value) {
+        if (value == null) {
+            throw new RuntimeException("사용일자가 없습니다");
+        }
+        String date = value.split("\\s")[0].replace('.', '-').replace('/', '-');
+        if (date.endsWith("-")) {
+            date = date.substring(0, date.length() - 1);
+        }
+        if (date.matches("\\d{8}")) {
+            date = date.substring(0, 4) + "-" + date.substring(4, 6) + "-" + date.substring(6);
+        }
+        try {
+            return LocalDate.parse(date, DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("사용일자 형식이 올바르지 않습니다: " + value);
+        }
+    }
+
+    /**
+     * 금액 변환 (쉼표, 통화 기호, "원" 허용 / 0원 불가)
+     */
+    private static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            throw new RuntimeException("금액이 없습니다");
+        }
+        String amount = value.replaceAll("[,\\s₩원]", "");
+        try {
+            BigDecimal parsed = new BigDecimal(amount);
+            if (parsed.signum() == 0) {
+                throw new RuntimeException("금액이 0입니다");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("금액 형식이 올바르지 않습니다: " + value);
+        }
+    }
+
+    private static String parseFlag(String value) {
+        if (value == null) {
+            return "N";
+        }
+        String flag = value.trim().toUpperCase();
+        return ("Y".equals(flag) || "O".equals(flag) || "TRUE".equals(flag) || "1".equals(flag) || "✓".equals(flag)) ? "Y" : "N";
+    }
+
+    /**
+     * SAX 셀 이벤트를 행 단위 목록으로 모음 (빈 셀은 건너뛰고 전달되므로 셀 참조로 위치 계산)
+     */
+    private static final class SheetRowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ImportRowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private int nextColumn;
+
+        SheetRowCollector(ImportRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.row(rowNum + 1, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+            nextColumn = column + 1;
+        }
+    }
+
+    /**
+     * 숫자 셀 변환 - 날짜 서식은 yyyy-MM-dd, 그 외는 서식 없는 숫자 (천 단위 구분, 통화 서식 무시)
+     */
+    private static final class ImportDataFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+}
@@ -14,6 +14,8 @@ import com.ync.intranet.mapper.ExpenseReportIntranetMapper;
 import com.ync.intranet.mapper.MemberIntranetMapper;
 import com.ync.schedule.domain.ExpenseItem;
 import com.ync.schedule.mapper.ExpenseItemMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,6 +37,11 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ExpenseItemIntranetService {
 
+    private static final Logger log = LoggerFactory.getLogger(ExpenseItemIntranetService.class);
+
+    // 경비 신청 일괄 조회/등록 단위
+    private static final int SUBMIT_BATCH_SIZE = 200;
+
     private final ExpenseItemIntranetMapper expenseItemMapper;
     private final ExpenseReportIntranetMapper expenseReportMapper;
     private final MemberIntranetMapper memberMapper;
@@ -100,7 +108,7 @@ public class ExpenseItemIntranetService {
 
         // 경비보고서의 총 금액 업데이트 (expenseReportId가 있을 경우만)
         if (expenseItem.getExpenseReportId() != null) {
-            updateReportTotalAmount(expenseItem.getExpenseReportId());
+            adjustReportTotalAmount(expenseItem.getExpenseReportId(), expenseItem.getAmount());
         }
 
         return expenseItem;
@@ -117,10 +125,14 @@ public class ExpenseItemIntranetService {
 
         expenseItemMapper.insertBatch(expenseItems);
 
-        // 경비보고서의 총 금액 업데이트
-        if (!expenseItems.isEmpty()) {
-            updateReportTotalAmount(expenseItems.get(0).getExpenseReportId());
+        // 경비보고서별 추가 금액만큼 총 금액 업데이트
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        for (ExpenseItemIntranet item : expenseItems) {
+            if (item.getExpenseReportId() != null && item.getAmount() != null) {
+                deltas.merge(item.getExpenseReportId(), item.getAmount(), BigDecimal::add);
+            }
         }
+        deltas.forEach(this::adjustReportTotalAmount);
     }
 
     /**
@@ -132,6 +144,7 @@ public class ExpenseItemIntranetService {
         if (existing == null) {
             throw new RuntimeException("경비 항목을 찾을 수 없습니다: " + id);
         }
+        BigDecimal previousAmount = existing.getAmount();
 
         existing.setMemberId(expenseItem.getMemberId());
         existing.setUsageDate(expenseItem.getUsageDate());
@@ -146,8 +159,9 @@ public class ExpenseItemIntranetService {
 
         expenseItemMapper.update(existing);
 
-        // 경비보고서의 총 금액 업데이트
-        updateReportTotalAmount(existing.getExpenseReportId());
+        // 경비보고서의 총 금액에 변경된 차액만 반영
+        adjustReportTotalAmount(existing.getExpenseReportId(),
+                nullToZero(existing.getAmount()).subtract(nullToZero(previousAmount)));
 
         return existing;
     }
@@ -165,8 +179,8 @@ public class ExpenseItemIntranetService {
         Long expenseReportId = expenseItem.getExpenseReportId();
         expenseItemMapper.deleteById(id);
 
-        // 경비보고서의 총 금액 업데이트
-        updateReportTotalAmount(expenseReportId);
+        // 경비보고서의 총 금액에서 삭제된 금액 차감
+        adjustReportTotalAmount(expenseReportId, nullToZero(expenseItem.getAmount()).negate());
     }
 
     /**
@@ -181,20 +195,19 @@ public class ExpenseItemIntranetService {
     }
 
     /**
-     * 경비보고서의 총 금액 재계산 및 업데이트
+     * 경비보고서의 총 금액 증감
+     * - 항목 전체를 다시 읽어 합산하지 않고 변경된 금액만 UPDATE 한 번으로 반영
      */
-    private void updateReportTotalAmount(Long expenseReportId) {
-        if (expenseReportId == null) {
-            return; // expenseReportId가 null이면 업데이트하지 않음
+    void adjustReportTotalAmount(Long expenseReportId, BigDecimal delta) {
+        if (expenseReportId == null || delta == null || delta.signum() == 0) {
+            return; // expenseReportId가 null이거나 변경 금액이 없으면 업데이트하지 않음
         }
 
-        List<ExpenseItemIntranet> items = expenseItemMapper.findByExpenseReportId(expenseReportId);
-
-        BigDecimal totalAmount = items.stream()
-                .map(ExpenseItemIntranet::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        expenseReportMapper.addTotalAmount(expenseReportId, delta);
+    }
 
-        expenseReportMapper.updateTotalAmount(expenseReportId, totalAmount);
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
 
     /**
@@ -277,7 +290,7 @@ public class ExpenseItemIntranetService {
      * 처리 순서:
      * 1. EXPENSE_ITEMS_INTRANET에서 항목들 조회
      * 2. EXPENSE_ITEMS 테이블에 INSERT (ID는 EXPENSE_ITEMS_INTRANET.ID 사용, YYYY/MM 포함)
-     * 3. EXPENSE_ITEM_READ_STATUS INSERT (경영관리 Unit 팀원 수만큼, 동일 ID 사용)
+     * 3. EXPENSE_ITEM_READ_STATUS INSERT (경영관리 Unit 팀원 수만큼, 시퀀스로 발급한 동일 ID 사용)
      * 4. EXPENSE_ITEMS_INTRANET.EXPENSE_READ_ID 업데이트
      *
      * @param expenseItemIds 경비 항목 ID 목록
@@ -287,41 +300,36 @@ public class ExpenseItemIntranetService {
      */
     @Transactional
     public void submitExpenseItems(List<Long> expenseItemIds, Long submitterId, String yyyy, String mm) {
-        System.out.println("▶ submitExpenseItems 호출");
-        System.out.println("  expenseItemIds=" + expenseItemIds);
-        System.out.println("  submitterId=" + submitterId);
-        System.out.println("  yyyy=" + yyyy + ", mm=" + mm);
-
         if (expenseItemIds == null || expenseItemIds.isEmpty()) {
             throw new RuntimeException("신청할 경비 항목이 없습니다.");
         }
-
-        // EXPENSE_ITEMS_INTRANET에서 항목들 조회
-        List<ExpenseItemIntranet> intranetItems = new ArrayList<>();
-        for (Long id : expenseItemIds) {
-            ExpenseItemIntranet item = expenseItemMapper.findById(id);
-            if (item != null) {
-                System.out.println("▶ EXPENSE_ITEMS_INTRANET 조회 결과");
-                System.out.println("ID           = " + item.getId());
-                System.out.println("MEMBER_ID    = " + item.getMemberId());
-                System.out.println("USAGE_DATE   = " + item.getUsageDate());
-                System.out.println("ACCOUNT      = " + item.getAccount());
-                System.out.println("AMOUNT       = " + item.getAmount());
-                System.out.println("WELFARE_FLAG = " + item.getWelfareFlag());
-                System.out.println("-----------------------------");
-            	
-                intranetItems.add(item);
+        log.info("경비 신청: submitterId={}, {}-{}, 항목 {}건", submitterId, yyyy, mm, expenseItemIds.size());
+
+        // EXPENSE_ITEMS_INTRANET에서 항목들 일괄 조회 (요청한 순서 유지, 중복 ID 제외)
+        List<Long> distinctIds = expenseItemIds.stream().distinct().collect(Collectors.toList());
+        Map<Long, ExpenseItemIntranet> itemsById = new HashMap<>();
+        for (List<Long> ids : partition(distinctIds)) {
+            for (ExpenseItemIntranet item : expenseItemMapper.findByIds(ids)) {
+                itemsById.put(item.getId(), item);
             }
         }
+        List<ExpenseItemIntranet> intranetItems = distinctIds.stream()
+                .map(itemsById::get)
+                .filter(item -> item != null)
+                .collect(Collectors.toList());
 
         if (intranetItems.isEmpty()) {
             throw new RuntimeException("조회된 경비 항목이 없습니다.");
         }
+        if (intranetItems.size() < distinctIds.size()) {
+            log.warn("경비 신청: 조회되지 않은 항목 {}건 제외", distinctIds.size() - intranetItems.size());
+        }
 
         // 대표 ID로 첫 번째 항목의 ID 사용 (READ_STATUS에서 공통으로 사용)
         Long representativeId = intranetItems.get(0).getId();
 
-        // EXPENSE_ITEMS 테이블에 INSERT (ID는 EXPENSE_ITEMS_INTRANET.ID 그대로 사용)
+        // EXPENSE_ITEMS 테이블에 일괄 INSERT (ID는 EXPENSE_ITEMS_INTRANET.ID 그대로 사용)
+        List<ExpenseItem> scheduleItems = new ArrayList<>(intranetItems.size());
         for (ExpenseItemIntranet intranetItem : intranetItems) {
             ExpenseItem scheduleItem = new ExpenseItem();
             scheduleItem.setId(intranetItem.getId()); // INTRANET ID 그대로 사용
@@ -335,40 +343,60 @@ public class ExpenseItemIntranetService {
             scheduleItem.setWelfareFlag(intranetItem.getWelfareFlag());
             scheduleItem.setYyyy(yyyy);  // 화면에서 선택한 년도
             scheduleItem.setMm(mm);      // 화면에서 선택한 월
-
-            System.out.println("▶ EXPENSE_ITEMS INSERT 준비");
-            System.out.println("  scheduleItem.id=" + scheduleItem.getId());
-            System.out.println("  scheduleItem.yyyy=" + scheduleItem.getYyyy());
-            System.out.println("  scheduleItem.mm=" + scheduleItem.getMm());
-
-            scheduleExpenseItemMapper.insertWithId(scheduleItem); // ID 직접 지정하여 INSERT
+            scheduleItems.add(scheduleItem);
+        }
+        for (List<ExpenseItem> batch : partition(scheduleItems)) {
+            scheduleExpenseItemMapper.insertBatchWithId(batch);
         }
 
         // 경영관리 Unit 소속 팀원 찾기
         List<MemberIntranet> managementMembers = findManagementTeamMembers();
 
         // EXPENSE_ITEM_READ_STATUS INSERT
-        // ID = MAX(ID) + 1 로 1회 계산하여 모든 ROW에 동일한 ID 사용
-        // 예: MAX(ID)=8, 팀원 3명 → ID=9, 9, 9
+        // 시퀀스로 신청 건 ID를 1회 발급하여 모든 ROW에 동일한 ID 사용
+        // 예: 발급 ID=9, 팀원 3명 → ID=9, 9, 9
         if (!managementMembers.isEmpty()) {
-            // MAX(ID) + 1 계산 (1회)
-            Long readStatusId = readStatusMapper.getNextId();
+            // 동시에 신청해도 겹치지 않도록 시퀀스에서 발급 (1회)
+            Long readStatusId = readStatusMapper.nextGroupId();
 
+            List<ExpenseItemReadStatus> readStatuses = new ArrayList<>(managementMembers.size());
             for (MemberIntranet member : managementMembers) {
                 ExpenseItemReadStatus readStatus = new ExpenseItemReadStatus();
                 readStatus.setId(readStatusId);  // 계산된 동일한 ID 사용
                 readStatus.setExpenseItemId(representativeId);
                 readStatus.setReaderMemberId(member.getId());
                 readStatus.setReadYn("N");
-                readStatusMapper.insertWithId(readStatus);  // ID 직접 지정하여 INSERT
+                readStatuses.add(readStatus);
+            }
+            for (List<ExpenseItemReadStatus> batch : partition(readStatuses)) {
+                readStatusMapper.insertBatchWithId(batch);  // ID 직접 지정하여 INSERT
             }
 
             // EXPENSE_ITEMS_INTRANET.EXPENSE_READ_ID 업데이트
             // INSERT에 사용한 동일한 ID로 업데이트
-            expenseItemMapper.updateExpenseReadIdBatch(expenseItemIds, readStatusId);
+            List<Long> submittedIds = intranetItems.stream().map(ExpenseItemIntranet::getId).collect(Collectors.toList());
+            for (List<Long> ids : partition(submittedIds)) {
+                expenseItemMapper.updateExpenseReadIdBatch(ids, readStatusId);
+            }
+
+            log.info("경비 신청 완료: readStatusId={}, 항목 {}건, 확인자 {}명",
+                    readStatusId, intranetItems.size(), managementMembers.size());
+        } else {
+            log.info("경비 신청 완료: 항목 {}건 (경영관리 Unit 확인자 없음)", intranetItems.size());
         }
     }
 
+    /**
+     * 일괄 조회/등록용 분할 (IN 목록 1000개, 바인드 변수 수 제한)
+     */
+    private static <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += SUBMIT_BATCH_SIZE) {
+            batches.add(list.subList(from, Math.min(from + SUBMIT_BATCH_SIZE, list.size())));
+        }
+        return batches;
+    }
+
     /**
      * 경영관리 Unit 팀원 조회
      */
@@ -392,30 +420,47 @@ public class ExpenseItemIntranetService {
      * 조인조건: EXPENSE_ITEM_READ_STATUS.ID = EXPENSE_ITEMS_INTRANET.EXPENSE_READ_ID
      */
     public List<UnreadExpenseDto> getUnreadExpenses(Long readerMemberId) {
-        List<ExpenseItemReadStatus> unreadList = readStatusMapper.findUnreadByReaderMemberId(readerMemberId);
-
-        // EXPENSE_ITEM_READ_STATUS.ID로 그룹핑 (동일 ID = 같은 경비 신청 건)
-        Map<Long, List<ExpenseItemReadStatus>> groupedByReadStatusId = unreadList.stream()
-                .collect(Collectors.groupingBy(ExpenseItemReadStatus::getId));
-
-        List<UnreadExpenseDto> result = new ArrayList<>();
-
-        for (Map.Entry<Long, List<ExpenseItemReadStatus>> entry : groupedByReadStatusId.entrySet()) {
-            Long readStatusId = entry.getKey();
-            // EXPENSE_ITEMS_INTRANET.EXPENSE_READ_ID = readStatusId로 조회
-            List<ExpenseItemIntranet> expenseItems = expenseItemMapper.findByExpenseReadId(readStatusId);
-
-            if (expenseItems != null && !expenseItems.isEmpty()) {
-                ExpenseItemIntranet firstItem = expenseItems.get(0);
-                UnreadExpenseDto dto = new UnreadExpenseDto();
-                dto.setExpenseItemId(readStatusId);  // READ_STATUS.ID를 키로 사용
-                dto.setSubmitterName(firstItem.getMember().getName());
-                dto.setSubmitterDepartment(firstItem.getMember().getDepartmentName());
-                dto.setSubmittedAt(firstItem.getCreatedAt());
-                dto.setItems(expenseItems);
-                dto.setItemCount(expenseItems.size());
-                result.add(dto);
-            }
+        return toUnreadExpenses(expenseItemMapper.findUnreadByReaderMemberId(readerMemberId, null, null));
+    }
+
+    /**
+     * 미확인 경비 페이지 조회 (최근 신청 건 순)
+     * @param page 페이지 번호 (1부터)
+     * @param size 페이지 크기 (신청 건 수)
+     */
+    public List<UnreadExpenseDto> getUnreadExpenses(Long readerMemberId, int page, int size) {
+        int offset = (Math.max(page, 1) - 1) * size;
+        return toUnreadExpenses(expenseItemMapper.findUnreadByReaderMemberId(readerMemberId, offset, size));
+    }
+
+    /**
+     * 미확인 경비 신청 건 수 (페이지 조회용)
+     */
+    public int countUnreadExpenses(Long readerMemberId) {
+        return readStatusMapper.countUnreadGroupsByReaderMemberId(readerMemberId);
+    }
+
+    /**
+     * 신청 건 순으로 정렬된 항목을 EXPENSE_READ_ID 별로 묶음 (동일 ID = 같은 경비 신청 건)
+     */
+    private List<UnreadExpenseDto> toUnreadExpenses(List<ExpenseItemIntranet> items) {
+        Map<Long, List<ExpenseItemIntranet>> groupedByReadStatusId = new LinkedHashMap<>();
+        for (ExpenseItemIntranet item : items) {
+            groupedByReadStatusId.computeIfAbsent(item.getExpenseReadId(), key -> new ArrayList<>()).add(item);
+        }
+
+        List<UnreadExpenseDto> result = new ArrayList<>(groupedByReadStatusId.size());
+        for (Map.Entry<Long, List<ExpenseItemIntranet>> entry : groupedByReadStatusId.entrySet()) {
+            List<ExpenseItemIntranet> expenseItems = entry.getValue();
+            ExpenseItemIntranet firstItem = expenseItems.get(0);
+            UnreadExpenseDto dto = new UnreadExpenseDto();
+            dto.setExpenseItemId(entry.getKey());  // READ_STATUS.ID를 키로 사용
+            dto.setSubmitterName(firstItem.getMember().getName());
+            dto.setSubmitterDepartment(firstItem.getMember().getDepartmentName());
+            dto.setSubmittedAt(firstItem.getCreatedAt());
+            dto.setItems(expenseItems);
+            dto.setItemCount(expenseItems.size());
+            result.add(dto);
         }
 
         return result;
@@ -25,15 +25,18 @@ public class ExpenseReportIntranetService {
     private final DocumentIntranetMapper documentMapper;
     private final ApprovalLineIntranetMapper approvalLineMapper;
     private final MemberIntranetMapper memberMapper;
+    private final AttachmentService attachmentService;
 
     public ExpenseReportIntranetService(ExpenseReportIntranetMapper expenseReportMapper,
                                         DocumentIntranetMapper documentMapper,
                                         ApprovalLineIntranetMapper approvalLineMapper,
-                                        MemberIntranetMapper memberMapper) {
+                                        MemberIntranetMapper memberMapper,
+                                        AttachmentService attachmentService) {
         this.expenseReportMapper = expenseReportMapper;
         this.documentMapper = documentMapper;
         this.approvalLineMapper = approvalLineMapper;
         this.memberMapper = memberMapper;
+        this.attachmentService = attachmentService;
     }
 
     /**
@@ -158,6 +161,7 @@ public class ExpenseReportIntranetService {
 
         // 문서도 함께 삭제
         if (expenseReport.getDocumentId() != null) {
+            attachmentService.deleteAttachmentsByDocumentId(expenseReport.getDocumentId());
             documentMapper.deleteById(expenseReport.getDocumentId());
         }
 
@@ -0,0 +1,126 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.NotificationIntranet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 알림 실시간 전송 서비스 (SSE)
+ *
+ * 사용자별로 열려 있는 SSE 연결(브라우저 탭)을 관리하고, 새 알림과 읽지 않은 알림 개수 변경을 전송합니다.
+ * 연결 정보는 프로세스 메모리에만 유지되며, 연결이 끊긴 클라이언트는 폴링으로 대체합니다.
+ */
+@Service
+public class NotificationPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPushService.class);
+
+    // SSE 연결 유지 시간 (만료 시 브라우저가 자동 재연결)
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    // 프록시/로드밸런서 유휴 연결 종료 방지용 heartbeat 주기
+    private static final long HEARTBEAT_INTERVAL_MS = 25 * 1000L;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    /**
+     * SSE 구독 등록
+     * @param memberId 사용자 ID
+     * @param unreadCount 연결 직후 전송할 읽지 않은 알림 개수
+     */
+    public SseEmitter subscribe(Long memberId, int unreadCount) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+
+        emitters.compute(memberId, (key, list) -> {
+            List<SseEmitter> target = (list != null) ? list : new CopyOnWriteArrayList<>();
+            target.add(emitter);
+            return target;
+        });
+
+        emitter.onCompletion(() -> remove(memberId, emitter));
+        emitter.onTimeout(() -> {
+            remove(memberId, emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(memberId, emitter));
+
+        send(memberId, emitter, "unread-count", Map.of("count", unreadCount));
+        return emitter;
+    }
+
+    /**
+     * 사용자에게 열린 SSE 연결이 있는지 여부
+     */
+    public boolean isConnected(Long memberId) {
+        List<SseEmitter> list = emitters.get(memberId);
+        return list != null && !list.isEmpty();
+    }
+
+    /**
+     * 새 알림 전송
+     */
+    public void pushNotification(Long memberId, NotificationIntranet notification, int unreadCount) {
+        broadcast(memberId, "notification", Map.of(
+                "notification", notification,
+                "unreadCount", unreadCount
+        ));
+    }
+
+    /**
+     * 읽지 않은 알림 개수 전송 (읽음/삭제 처리 시 다른 탭 동기화)
+     */
+    public void pushUnreadCount(Long memberId, int unreadCount) {
+        broadcast(memberId, "unread-count", Map.of("count", unreadCount));
+    }
+
+    /**
+     * 연결 유지용 heartbeat 전송 (끊어진 연결 정리 포함)
+     */
+    @Scheduled(fixedDelay = HEARTBEAT_INTERVAL_MS)
+    public void sendHeartbeat() {
+        for (Map.Entry<Long, List<SseEmitter>> entry : emitters.entrySet()) {
+            for (SseEmitter emitter : entry.getValue()) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(entry.getKey(), emitter);
+                }
+            }
+        }
+    }
+
+    private void broadcast(Long memberId, String eventName, Object data) {
+        List<SseEmitter> list = emitters.get(memberId);
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            send(memberId, emitter, eventName, data);
+        }
+    }
+
+    private void send(Long memberId, SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패 - 연결 제거: memberId={}, event={}", memberId, eventName);
+            remove(memberId, emitter);
+        }
+    }
+
+    private void remove(Long memberId, SseEmitter emitter) {
+        emitters.computeIfPresent(memberId, (key, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
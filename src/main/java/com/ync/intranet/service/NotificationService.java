@@ -4,8 +4,15 @@ import com.ync.intranet.domain.NotificationIntranet;
 import com.ync.intranet.mapper.NotificationIntranetMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 /**
  * 알림 서비스 (인트라넷)
@@ -17,9 +24,257 @@ public class NotificationService {
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
     private final NotificationIntranetMapper notificationMapper;
+    private final NotificationPushService notificationPushService;
+    private final NotificationUnreadCounter unreadCounter;
+
+    // 같은 사용자/유형/제목의 미읽음 알림을 하나로 묶는 시간 (분, 0 이하이면 묶지 않음)
+    @Value("${intranet.notification.coalesce.window-minutes:30}")
+    private int coalesceWindowMinutes;
+
+    // 묶음 대상 알림 유형
+    @Value("${intranet.notification.coalesce.types:APPROVAL_REQUEST}")
+    private Set<String> coalesceTypes;
 
-    public NotificationService(NotificationIntranetMapper notificationMapper) {
+    public NotificationService(NotificationIntranetMapper notificationMapper,
+                               NotificationPushService notificationPushService,
+                               NotificationUnreadCounter unreadCounter) {
         this.notificationMapper = notificationMapper;
+        this.notificationPushService = notificationPushService;
+        this.unreadCounter = unreadCounter;
+    }
+
+    /**
+     * 사용자별 알림 조회 (최근 20개)
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationIntranet> getNotifications(Long memberId) {
+        return notificationMapper.findByMemberId(memberId);
+    }
+
+    /**
+     * 사용자별 알림 커서 조회
+     * @param beforeCreatedAt 이전 페이지 마지막 알림의 생성일시 (null이면 최신부터)
+     * @param beforeId 이전 페이지 마지막 알림 ID
+     * @param limit 조회 건수 (다음 페이지 존재 여부 확인이 필요하면 +1 해서 호출)
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationIntranet> getNotificationPage(Long memberId, LocalDateTime beforeCreatedAt, Long beforeId,
+                                                          String notificationType, Boolean isRead, int limit) {
+        return notificationMapper.findPageByMemberId(memberId, beforeCreatedAt, beforeId, notificationType, isRead, limit);
+    }
+
+    /**
+     * 읽지 않은 알림 개수 (메모리 카운터)
+     */
+    @Transactional(readOnly = true)
+    public int getUnreadCount(Long memberId) {
+        return unreadCounter.get(memberId);
+    }
+
+    /**
+     * 알림 생성 (내부 API용)
+     */
+    public void createNotification(NotificationIntranet notification) {
+        save(notification);
+    }
+
+    /**
+     * 알림 읽음 처리
+     * @param memberId 요청 사용자 ID (다른 탭 개수 동기화용)
+     */
+    public void markAsRead(Long memberId, Long id) {
+        int updated = notificationMapper.markAsRead(id, memberId);
+        if (updated > 0) {
+            afterCommit(() -> unreadCounter.decrement(memberId, updated));
+            publishUnreadCount(memberId);
+        }
+    }
+
+    /**
+     * 전체 읽음 처리
+     */
+    public void markAllAsRead(Long memberId) {
+        int updated = notificationMapper.markAllAsRead(memberId);
+        if (updated > 0) {
+            afterCommit(() -> unreadCounter.decrement(memberId, updated));
+            publishUnreadCount(memberId);
+        }
+    }
+
+    /**
+     * 알림 삭제
+     * @param memberId 요청 사용자 ID (다른 탭 개수 동기화용)
+     */
+    public void deleteNotification(Long memberId, Long id) {
+        NotificationIntranet notification = notificationMapper.findById(id);
+        int deleted = notificationMapper.deleteById(id);
+
+        if (deleted > 0 && notification != null && !Boolean.TRUE.equals(notification.getIsRead())) {
+            Long ownerId = notification.getMemberId();
+            afterCommit(() -> unreadCounter.decrement(ownerId, deleted));
+            publishUnreadCount(ownerId);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 알림 1회분 정리 (호출 1회 = 트랜잭션 1개)
+     * @param isRead true: 읽은 알림, false: 읽지 않은 알림
+     * @param days 보관 일수
+     * @param limit 1회 최대 삭제 건수 (1000 이하)
+     * @param archive 삭제 전 이력 테이블로 복사 여부
+     * @return 삭제 건수
+     */
+    public int purgeExpiredChunk(boolean isRead, int days, int limit, boolean archive) {
+        List<Long> ids = notificationMapper.findExpiredIds(isRead, days, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        if (archive) {
+            notificationMapper.archiveByIds(ids);
+        }
+        int deleted = notificationMapper.deleteByIds(ids);
+
+        // 읽지 않은 알림이 삭제되면 사용자별 개수를 알 수 없으므로 카운터를 다시 적재
+        if (!isRead && deleted > 0) {
+            afterCommit(unreadCounter::invalidateAll);
+        }
+        return deleted;
+    }
+
+    /**
+     * 일일 요약 생성 - 전일까지 읽지 않은 알림을 요약 알림 1건으로 대체
+     * @param totalCount 요약 대상 알림 건수 (묶음 건수 포함)
+     * @return 대체된 알림 행 수
+     */
+    public int createDailyDigest(Long memberId, String notificationType, long totalCount) {
+        int deleted = notificationMapper.deleteUnreadBeforeToday(memberId, notificationType);
+        if (deleted == 0) {
+            return 0;
+        }
+
+        String label = getTypeLabel(notificationType);
+        NotificationIntranet digest = NotificationIntranet.builder()
+                .memberId(memberId)
+                .notificationType(notificationType)
+                .title("[일일 요약] " + totalCount + "건의 " + label)
+                .content("확인하지 않은 " + label + " " + totalCount + "건을 하나로 요약했습니다.")
+                .linkUrl(getTypeLink(notificationType))
+                .isRead(false)
+                .build();
+        digest.setAggregateCount((int) Math.min(totalCount, Integer.MAX_VALUE));
+        notificationMapper.insert(digest);
+
+        afterCommit(() -> unreadCounter.invalidate(memberId));
+        publishUnreadCount(memberId);
+        log.info("알림 일일 요약 생성 - 사용자: {}, 유형: {}, 대체: {}건", memberId, notificationType, deleted);
+        return deleted;
+    }
+
+    /**
+     * 알림 저장 후 커밋 시점에 구독 중인 클라이언트로 전송
+     * 묶음 대상 유형이면 기준 시간 내의 같은 미읽음 알림에 합칩니다 ("N건의 새로운 결재 요청")
+     */
+    private void save(NotificationIntranet notification) {
+        if (isCoalescible(notification)) {
+            String groupKey = notification.getNotificationType() + ":" + notification.getTitle();
+            NotificationIntranet existing = notificationMapper.findCoalescible(
+                    notification.getMemberId(), groupKey, coalesceWindowMinutes);
+
+            if (existing != null
+                    && notificationMapper.mergeInto(existing.getId(), notification.getTitle(), notification.getContent()) > 0) {
+                NotificationIntranet merged = notificationMapper.findById(existing.getId());
+                Long memberId = merged.getMemberId();
+                // 미읽음 행 수는 그대로이므로 카운터는 변경하지 않음
+                afterCommit(() -> {
+                    if (notificationPushService.isConnected(memberId)) {
+                        notificationPushService.pushNotification(memberId, merged, unreadCounter.get(memberId));
+                    }
+                });
+                return;
+            }
+            notification.setGroupKey(groupKey);
+        }
+
+        notificationMapper.insert(notification);
+
+        Long memberId = notification.getMemberId();
+        afterCommit(() -> {
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadCounter.increment(memberId);
+            }
+            if (notificationPushService.isConnected(memberId)) {
+                notificationPushService.pushNotification(memberId, notification, unreadCounter.get(memberId));
+            }
+        });
+    }
+
+    private boolean isCoalescible(NotificationIntranet notification) {
+        return coalesceWindowMinutes > 0
+                && notification.getMemberId() != null
+                && notification.getTitle() != null
+                && coalesceTypes.contains(notification.getNotificationType())
+                && !Boolean.TRUE.equals(notification.getIsRead());
+    }
+
+    private String getTypeLabel(String notificationType) {
+        if (NotificationIntranet.NotificationType.APPROVAL_REQUEST.equals(notificationType)) {
+            return "결재 요청";
+        } else if (NotificationIntranet.NotificationType.APPROVAL_APPROVED.equals(notificationType)) {
+            return "결재 승인 알림";
+        } else if (NotificationIntranet.NotificationType.APPROVAL_REJECTED.equals(notificationType)) {
+            return "결재 반려 알림";
+        } else if (NotificationIntranet.NotificationType.LEAVE_APPROVED.equals(notificationType)) {
+            return "휴가 승인 알림";
+        } else if (NotificationIntranet.NotificationType.LEAVE_REJECTED.equals(notificationType)) {
+            return "휴가 반려 알림";
+        }
+        return "알림";
+    }
+
+    private String getTypeLink(String notificationType) {
+        if (NotificationIntranet.NotificationType.APPROVAL_REQUEST.equals(notificationType)) {
+            return "/approval-pending.html";
+        } else if (NotificationIntranet.NotificationType.APPROVAL_APPROVED.equals(notificationType)
+                || NotificationIntranet.NotificationType.APPROVAL_REJECTED.equals(notificationType)) {
+            return "/my-documents.html";
+        } else if (NotificationIntranet.NotificationType.LEAVE_APPROVED.equals(notificationType)
+                || NotificationIntranet.NotificationType.LEAVE_REJECTED.equals(notificationType)) {
+            return "/schedule.html";
+        }
+        return null;
+    }
+
+    private void publishUnreadCount(Long memberId) {
+        afterCommit(() -> {
+            if (notificationPushService.isConnected(memberId)) {
+                notificationPushService.pushUnreadCount(memberId, unreadCounter.get(memberId));
+            }
+        });
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 실행 (롤백된 알림은 전송하지 않음)
+     */
+    private void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("알림 전송 실패: {}", e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
     }
 
     /**
@@ -40,7 +295,7 @@ public class NotificationService {
                     .isRead(false)
                     .build();
 
-            notificationMapper.insert(notification);
+            save(notification);
             log.info("결재 요청 알림 생성 완료 - 결재자: {}, 문서: {}", approverId, documentTitle);
         } catch (Exception e) {
             log.error("결재 요청 알림 생성 실패 - 결재자: {}, 문서: {}", approverId, documentTitle, e);
@@ -65,7 +320,7 @@ public class NotificationService {
                     .isRead(false)
                     .build();
 
-            notificationMapper.insert(notification);
+            save(notification);
             log.info("결재 승인 알림 생성 완료 - 기안자: {}, 문서: {}", requesterId, documentTitle);
         } catch (Exception e) {
             log.error("결재 승인 알림 생성 실패 - 기안자: {}, 문서: {}", requesterId, documentTitle, e);
@@ -96,13 +351,38 @@ public class NotificationService {
                     .isRead(false)
                     .build();
 
-            notificationMapper.insert(notification);
+            save(notification);
             log.info("결재 반려 알림 생성 완료 - 기안자: {}, 문서: {}", requesterId, documentTitle);
         } catch (Exception e) {
             log.error("결재 반려 알림 생성 실패 - 기안자: {}, 문서: {}", requesterId, documentTitle, e);
         }
     }
 
+    /**
+     * 내보내기 작업 완료 알림 생성
+     * @param memberId 요청자 ID
+     * @param fileName 생성된 파일명
+     * @param linkUrl 다운로드 경로 (실패 시 화면 경로)
+     * @param success 성공 여부
+     */
+    public void createExportCompletedNotification(Long memberId, String fileName, String linkUrl, boolean success) {
+        try {
+            NotificationIntranet notification = NotificationIntranet.builder()
+                    .memberId(memberId)
+                    .notificationType(NotificationIntranet.NotificationType.EXPORT_COMPLETED)
+                    .title(success ? "내보내기 완료" : "내보내기 실패")
+                    .content(success ? fileName + " 파일이 준비되었습니다" : fileName + " 파일을 만들지 못했습니다")
+                    .linkUrl(linkUrl)
+                    .isRead(false)
+                    .build();
+
+            save(notification);
+            log.info("내보내기 알림 생성 완료 - 요청자: {}, 파일: {}, 성공: {}", memberId, fileName, success);
+        } catch (Exception e) {
+            log.error("내보내기 알림 생성 실패 - 요청자: {}, 파일: {}", memberId, fileName, e);
+        }
+    }
+
     /**
      * 휴가 신청 알림 생성
      * @param approverId 결재자 ID
@@ -121,7 +401,7 @@ public class NotificationService {
                     .isRead(false)
                     .build();
 
-            notificationMapper.insert(notification);
+            save(notification);
             log.info("휴가 신청 알림 생성 완료 - 결재자: {}, 신청자: {}, 유형: {}", approverId, requesterName, leaveType);
         } catch (Exception e) {
             log.error("휴가 신청 알림 생성 실패 - 결재자: {}, 신청자: {}", approverId, requesterName, e);
@@ -146,7 +426,7 @@ public class NotificationService {
                     .isRead(false)
                     .build();
 
-            notificationMapper.insert(notification);
+            save(notification);
             log.info("휴가 승인 알림 생성 완료 - 신청자: {}, 유형: {}", requesterId, leaveType);
         } catch (Exception e) {
             log.error("휴가 승인 알림 생성 실패 - 신청자: {}, 유형: {}", requesterId, leaveType, e);
@@ -177,7 +457,7 @@ public class NotificationService {
                     .isRead(false)
                     .build();
 
-            notificationMapper.insert(notification);
+            save(notification);
             log.info("휴가 반려 알림 생성 완료 - 신청자: {}, 유형: {}", requesterId, leaveType);
         } catch (Exception e) {
             log.error("휴가 반려 알림 생성 실패 - 신청자: {}, 유형: {}", requesterId, leaveType, e);
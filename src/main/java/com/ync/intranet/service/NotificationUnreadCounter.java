@@ -0,0 +1,137 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.mapper.NotificationIntranetMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 읽지 않은 알림 개수 메모리 카운터
+ *
+ * 사용자별 카운터를 최초 조회 시 DB에서 읽어 적재하고, 이후에는 알림 생성/읽음/삭제 시
+ * NotificationService가 커밋 이후 증감합니다. 배지 조회는 DB를 거치지 않습니다.
+ * - 적재와 증감이 동시에 일어나면 일시적으로 어긋날 수 있으므로 주기적으로 DB 값으로 보정합니다.
+ *   (보정용 조회 중에 증감된 카운터는 덮어쓰지 않고 다음 보정으로 넘깁니다)
+ * - 프로세스 메모리에만 유지되므로 재기동 시 다시 적재합니다.
+ */
+@Service
+public class NotificationUnreadCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationUnreadCounter.class);
+
+    // DB 보정 주기 (10분)
+    private static final long RECONCILE_INTERVAL_MS = 10 * 60 * 1000L;
+
+    private final NotificationIntranetMapper notificationMapper;
+    private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public NotificationUnreadCounter(NotificationIntranetMapper notificationMapper) {
+        this.notificationMapper = notificationMapper;
+    }
+
+    /**
+     * 읽지 않은 알림 개수 (카운터가 없으면 DB에서 적재)
+     */
+    public int get(Long memberId) {
+        AtomicLong counter = counters.get(memberId);
+        if (counter == null) {
+            // DB 조회는 맵 잠금 밖에서 수행
+            long count = notificationMapper.countUnreadByMemberId(memberId);
+            AtomicLong existing = counters.putIfAbsent(memberId, new AtomicLong(count));
+            counter = (existing != null) ? existing : counters.get(memberId);
+        }
+        return (int) counter.get();
+    }
+
+    /**
+     * 읽지 않은 알림 증가 (적재되지 않은 사용자는 다음 조회 시 DB에서 읽음)
+     */
+    public void increment(Long memberId) {
+        AtomicLong counter = counters.get(memberId);
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * 읽지 않은 알림 감소 (0 미만으로 내려가지 않음)
+     */
+    public void decrement(Long memberId, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        AtomicLong counter = counters.get(memberId);
+        if (counter != null) {
+            counter.updateAndGet(value -> Math.max(0, value - amount));
+        }
+    }
+
+    /**
+     * 사용자 카운터 제거 (다음 조회 시 DB에서 다시 적재)
+     */
+    public void invalidate(Long memberId) {
+        counters.remove(memberId);
+    }
+
+    /**
+     * 전체 카운터 제거 (대량 삭제 등 사용자별 증감을 알 수 없는 경우)
+     */
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    /**
+     * 적재된 카운터를 DB 값으로 보정 (GROUP BY 1회 조회)
+     */
+    @Scheduled(fixedDelay = RECONCILE_INTERVAL_MS, initialDelay = RECONCILE_INTERVAL_MS)
+    public void reconcile() {
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 조회 전 카운터와 값 - 조회 중에 증감된 카운터는 DB 값이 최신이 아닐 수 있으므로 보정하지 않음
+            Map<Long, AtomicLong> snapshot = new HashMap<>(counters);
+            Map<Long, Long> before = new HashMap<>();
+            snapshot.forEach((memberId, counter) -> before.put(memberId, counter.get()));
+
+            Map<Long, Long> dbCounts = new HashMap<>();
+            List<Map<String, Object>> rows = notificationMapper.countUnreadGroupByMember();
+            for (Map<String, Object> row : rows) {
+                dbCounts.put(((Number) row.get("MEMBER_ID")).longValue(), ((Number) row.get("UNREAD_COUNT")).longValue());
+            }
+
+            int corrected = 0;
+            int skipped = 0;
+            for (Map.Entry<Long, AtomicLong> entry : snapshot.entrySet()) {
+                long expected = before.get(entry.getKey());
+                long dbCount = dbCounts.getOrDefault(entry.getKey(), 0L);
+                if (expected == dbCount) {
+                    continue;
+                }
+                if (entry.getValue().compareAndSet(expected, dbCount)) {
+                    corrected++;
+                } else {
+                    // 다음 보정 때 다시 확인
+                    skipped++;
+                }
+            }
+            if (skipped > 0) {
+                log.debug("읽지 않은 알림 카운터 보정 보류 (조회 중 변경): {}명", skipped);
+            }
+
+            if (corrected > 0) {
+                log.info("읽지 않은 알림 카운터 보정 - 대상: {}명, 보정: {}명", counters.size(), corrected);
+            }
+        } catch (Exception e) {
+            log.error("읽지 않은 알림 카운터 보정 실패: {}", e.getMessage());
+        }
+    }
+}
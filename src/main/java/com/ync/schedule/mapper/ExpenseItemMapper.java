@@ -57,6 +57,11 @@ public interface ExpenseItemMapper {
      */
     int insertWithId(ExpenseItem expenseItem);
 
+    /**
+     * ID를 직접 지정하여 일괄 INSERT
+     */
+    int insertBatchWithId(@Param("items") List<ExpenseItem> expenseItems);
+
     int update(ExpenseItem expenseItem);
 
     int deleteById(@Param("id") Long id);
@@ -29,36 +29,107 @@ async function loadUnreadCount() {
     try {
         const response = await fetch('/api/intranet/notifications/unread-count');
         const data = await response.json();
-
-        const badge = document.getElementById('notificationBadge');
-        if (badge) {
-            if (data.count > 0) {
-                badge.textContent = data.count > 99 ? '99+' : data.count;
-                badge.style.display = 'block';
-            } else {
-                badge.style.display = 'none';
-            }
-        }
+        renderUnreadBadge(data.count);
     } catch (error) {
         console.error('알림 개수 조회 실패:', error);
     }
 }
 
-// 알림 목록 가져오기
-async function loadNotifications() {
+// 알림 배지 표시
+function renderUnreadBadge(count) {
+    const badge = document.getElementById('notificationBadge');
+    if (badge) {
+        if (count > 0) {
+            badge.textContent = count > 99 ? '99+' : count;
+            badge.style.display = 'block';
+        } else {
+            badge.style.display = 'none';
+        }
+    }
+}
+
+// ========== 실시간 알림 (SSE) + 폴링 대체 ==========
+
+const NOTIFICATION_POLLING_INTERVAL = 30000;
+const NOTIFICATION_RECONNECT_DELAY = 60000;
+let notificationPollingTimer = null;
+
+// SSE 연결이 없을 때만 30초 폴링 (숨겨진 탭은 조회 생략)
+function startNotificationPolling() {
+    if (notificationPollingTimer) return;
+    notificationPollingTimer = setInterval(() => {
+        if (!document.hidden) {
+            loadUnreadCount();
+        }
+    }, NOTIFICATION_POLLING_INTERVAL);
+}
+
+function stopNotificationPolling() {
+    if (notificationPollingTimer) {
+        clearInterval(notificationPollingTimer);
+        notificationPollingTimer = null;
+    }
+}
+
+// 알림 스트림 연결
+function connectNotificationStream() {
+    if (typeof EventSource === 'undefined') {
+        loadUnreadCount();
+        startNotificationPolling();
+        return;
+    }
+
+    const source = new EventSource('/api/intranet/notifications/stream');
+
+    source.onopen = () => stopNotificationPolling();
+
+    source.addEventListener('unread-count', (e) => {
+        renderUnreadBadge(JSON.parse(e.data).count);
+    });
+
+    source.addEventListener('notification', (e) => {
+        const data = JSON.parse(e.data);
+        renderUnreadBadge(data.unreadCount);
+
+        const dropdown = document.getElementById('notificationDropdown');
+        if (dropdown && dropdown.style.display === 'block') {
+            loadNotifications();
+        }
+    });
+
+    source.onerror = () => {
+        // 연결 끊김: 재연결 전까지 폴링으로 대체
+        startNotificationPolling();
+        if (source.readyState === EventSource.CLOSED) {
+            setTimeout(connectNotificationStream, NOTIFICATION_RECONNECT_DELAY);
+        }
+    };
+}
+
+// 다음 페이지 커서 (이전 알림 더 보기)
+let notificationNextCursor = null;
+
+// 알림 목록 가져오기 (append: 이전 알림 이어서 조회)
+async function loadNotifications(append = false) {
     try {
-        const response = await fetch('/api/intranet/notifications');
-        const notifications = await response.json();
+        let url = '/api/intranet/notifications?limit=20';
+        if (append && notificationNextCursor) {
+            url += `&before=${encodeURIComponent(notificationNextCursor)}`;
+        }
+        const response = await fetch(url);
+        const data = await response.json();
+        const notifications = data.notifications || [];
+        notificationNextCursor = data.hasMore ? data.nextCursor : null;
 
         const listContainer = document.getElementById('notificationList');
         if (!listContainer) return;
 
-        if (!notifications || notifications.length === 0) {
+        if (!append && notifications.length === 0) {
             listContainer.innerHTML = '<div class="empty-notification">알림이 없습니다</div>';
             return;
         }
 
-        listContainer.innerHTML = notifications.map(notif => `
+        const itemsHtml = notifications.map(notif => `
             <div class="notification-item ${notif.isRead ? '' : 'unread'}">
                 <div onclick="handleNotificationClick(${notif.id}, '${notif.linkUrl || ''}')" style="flex: 1; cursor: pointer;">
                     <div class="notification-title">${escapeHtml(notif.title)}</div>
@@ -69,6 +140,23 @@ async function loadNotifications() {
             </div>
         `).join('');
 
+        const moreButton = listContainer.querySelector('.notification-more-btn');
+        if (moreButton) moreButton.remove();
+
+        if (append) {
+            listContainer.insertAdjacentHTML('beforeend', itemsHtml);
+        } else {
+            listContainer.innerHTML = itemsHtml;
+        }
+
+        if (notificationNextCursor) {
+            listContainer.insertAdjacentHTML('beforeend', `
+                <button class="notification-more-btn" onclick="event.stopPropagation(); loadNotifications(true)"
+                        style="width: 100%; padding: 10px; border: none; background: #f8f9fa; color: #555; cursor: pointer;">
+                    이전 알림 더 보기
+                </button>`);
+        }
+
     } catch (error) {
         console.error('알림 목록 조회 실패:', error);
     }
@@ -162,16 +250,11 @@ function escapeHtml(text) {
     return div.innerHTML;
 }
 
-// 30초마다 알림 개수 갱신 (페이지 로드 시 자동 시작)
+// 페이지 로드 시 알림 스트림 연결 (연결 시 읽지 않은 개수를 바로 수신)
 if (typeof window !== 'undefined') {
-    // 페이지 로드 시 알림 개수 로드
     if (document.readyState === 'loading') {
-        document.addEventListener('DOMContentLoaded', () => {
-            loadUnreadCount();
-            setInterval(loadUnreadCount, 30000);
-        });
+        document.addEventListener('DOMContentLoaded', connectNotificationStream);
     } else {
-        loadUnreadCount();
-        setInterval(loadUnreadCount, 30000);
+        connectNotificationStream();
     }
 }
@@ -0,0 +1,136 @@
+package com.ync.intranet.service;
+
+import com.ync.intranet.domain.ExpenseItemIntranet;
+import com.ync.intranet.domain.MemberIntranet;
+import com.ync.intranet.dto.ExpenseExcelExportFilter;
+import com.ync.intranet.mapper.DepartmentIntranetMapper;
+import com.ync.intranet.mapper.ExpenseItemIntranetMapper;
+import com.ync.intranet.mapper.MemberIntranetMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 경비 엑셀 스트리밍 기록 테스트
+ */
+class ExpenseExcelServiceTest {
+
+    private static final int ROW_COUNT = 100_000;
+
+    // 행 수와 관계없이 유지되어야 하는 힙 증가 상한 (SXSSF 창 + 템플릿)
+    private static final long HEAP_BOUND_BYTES = 64L * 1024 * 1024;
+
+    @Test
+    void writeExcelKeepsHeapFlatFor100kRows() throws Exception {
+        ExpenseItemIntranetMapper expenseItemMapper = mock(ExpenseItemIntranetMapper.class);
+        when(expenseItemMapper.countForExport(any())).thenReturn(ROW_COUNT);
+        when(expenseItemMapper.streamForExport(any())).thenReturn(new GeneratedItemCursor(ROW_COUNT));
+
+        ExpenseExcelService service = new ExpenseExcelService(expenseItemMapper,
+                mock(MemberIntranetMapper.class), mock(DepartmentIntranetMapper.class));
+
+        ExpenseExcelExportFilter filter = new ExpenseExcelExportFilter();
+        filter.setYearMonth("2026-01");
+
+        long baseline = usedHeapAfterGc();
+        long[] peak = {0};
+        int[] written = {0};
+
+        // 25,000행마다 GC 후 힙 사용량 측정
+        service.writeExcel(filter, OutputStream.nullOutputStream(), (processed, total) -> {
+            written[0] = processed;
+            if (processed > 0 && processed % 25_000 == 0) {
+                peak[0] = Math.max(peak[0], usedHeapAfterGc() - baseline);
+            }
+        });
+
+        assertEquals(ROW_COUNT, written[0]);
+        assertTrue(peak[0] < HEAP_BOUND_BYTES,
+                "힙 증가량이 상한을 넘었습니다: " + peak[0] / (1024 * 1024) + "MB");
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 항목을 미리 만들지 않고 읽을 때마다 생성하는 커서 (DB 커서 대용)
+     */
+    private static class GeneratedItemCursor implements Cursor<ExpenseItemIntranet> {
+
+        private final int size;
+        private int index = -1;
+        private boolean open = true;
+
+        GeneratedItemCursor(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return index + 1 >= size;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return index;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public Iterator<ExpenseItemIntranet> iterator() {
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return open && index + 1 < size;
+                }
+
+                @Override
+                public ExpenseItemIntranet next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    index++;
+                    MemberIntranet member = new MemberIntranet();
+                    member.setName("사원" + (index % 50));
+                    member.setDepartmentName("개발팀");
+
+                    ExpenseItemIntranet item = new ExpenseItemIntranet();
+                    item.setId((long) index + 1);
+                    item.setMember(member);
+                    item.setUsageDate(LocalDate.of(2026, 1, 1 + index % 28));
+                    item.setDescription("지출 내역 " + index);
+                    item.setAccount("복리후생비");
+                    item.setAmount(BigDecimal.valueOf(10_000L + index));
+                    item.setVendor("업체 " + (index % 100));
+                    item.setNote("비고");
+                    return item;
+                }
+            };
+        }
+    }
+}